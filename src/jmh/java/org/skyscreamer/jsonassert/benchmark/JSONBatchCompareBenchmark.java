@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.skyscreamer.jsonassert.JSONBatchCompare;
+import org.skyscreamer.jsonassert.JSONBatchResult;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONComparePair;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+
+/**
+ * Compares a batch of small document pairs one after the other, as a loop over {@code JSONAssert.assertEquals}
+ * does, against {@link JSONBatchCompare} on executors with an increasing number of threads, and on virtual
+ * threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class JSONBatchCompareBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"1KB", "16KB"})
+    public String size;
+
+    @Param({"10000"})
+    public int pairs;
+
+    private final JSONComparator comparator = new DefaultComparator(JSONCompareMode.LENIENT);
+    private List<JSONComparePair> batch;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int bytes = Payloads.parseSize(size);
+        batch = new ArrayList<JSONComparePair>(pairs);
+        for (int i = 0; i < pairs; i++) {
+            String document = Payloads.generate(Payloads.Shape.ARRAY, bytes, i);
+            batch.add(JSONComparePair.of(document, Payloads.generate(Payloads.Shape.ARRAY, bytes, i)));
+        }
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Compares the pairs one after the other on the benchmark thread.
+     */
+    @Benchmark
+    public void loop(Blackhole blackhole) {
+        for (JSONComparePair pair : batch) {
+            blackhole.consume(JSONCompare.compareJSON(pair.getExpected(), pair.getActual(), comparator));
+        }
+    }
+
+    /**
+     * Compares the pairs as one batch on {@link #threads} threads.
+     */
+    @Benchmark
+    public JSONBatchResult batch() {
+        return JSONBatchCompare.compareJSON(batch.iterator(), comparator, executor);
+    }
+
+    /**
+     * Compares the pairs as one batch with a virtual thread per pair.  Needs Java 21 and the packaged
+     * multi-release jar; it fails on older runtimes, without affecting the other benchmarks.
+     */
+    @Benchmark
+    public JSONBatchResult virtualThreads() {
+        return JSONBatchCompare.compareJSON(batch.iterator(), comparator, JSONBatchCompare.virtualThreads());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.skyscreamer.jsonassert.Customization;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.JSONPathCustomization;
+import org.skyscreamer.jsonassert.comparator.ArraySizeComparator;
+import org.skyscreamer.jsonassert.comparator.CustomComparator;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+import org.skyscreamer.jsonassert.comparator.JSONPathComparator;
+import org.skyscreamer.jsonassert.comparator.ParallelComparator;
+
+/**
+ * Measures {@link JSONCompare#compareJSON} for every comparator shipped with JSONassert, in every
+ * {@link JSONCompareMode}, over generated payloads of increasing size. Expected and actual documents are equal, so
+ * each invocation walks the whole tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class JSONCompareBenchmark {
+
+    /**
+     * The comparators under test.
+     */
+    public enum ComparatorType {
+        DEFAULT {
+            @Override
+            JSONComparator create(JSONCompareMode mode) {
+                return new DefaultComparator(mode);
+            }
+        },
+        CUSTOM {
+            @Override
+            JSONComparator create(JSONCompareMode mode) {
+                return new CustomComparator(mode,
+                        new Customization("**.timestamp", (o1, o2) -> true),
+                        new Customization("timestamp", (o1, o2) -> true));
+            }
+        },
+        JSON_PATH {
+            @Override
+            JSONComparator create(JSONCompareMode mode) {
+                return new JSONPathComparator(mode, JSONPathCustomization.ofIgnore("$..timestamp"));
+            }
+        },
+        ARRAY_SIZE {
+            @Override
+            JSONComparator create(JSONCompareMode mode) {
+                return new ArraySizeComparator(mode);
+            }
+        },
+        PARALLEL {
+            @Override
+            JSONComparator create(JSONCompareMode mode) {
+                return new ParallelComparator(mode);
+            }
+        };
+
+        abstract JSONComparator create(JSONCompareMode mode);
+    }
+
+    @Param({"DEFAULT", "CUSTOM", "JSON_PATH", "ARRAY_SIZE", "PARALLEL"})
+    public ComparatorType comparator;
+
+    @Param({"STRICT", "LENIENT", "NON_EXTENSIBLE", "STRICT_ORDER"})
+    public JSONCompareMode mode;
+
+    @Param({"DEEP", "WIDE", "ARRAY"})
+    public Payloads.Shape shape;
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    private JSONComparator jsonComparator;
+    private String expectedStr;
+    private String actualStr;
+    private JSONObject expected;
+    private JSONObject actual;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int bytes = Payloads.parseSize(size);
+        jsonComparator = comparator.create(mode);
+        actualStr = Payloads.generate(shape, bytes, 42L);
+        actual = new JSONObject(actualStr);
+        if (comparator == ComparatorType.ARRAY_SIZE) {
+            expected = Payloads.arraySizeExpectation(new JSONObject(actualStr));
+            expectedStr = expected.toString();
+        } else {
+            expectedStr = Payloads.generate(shape, bytes, 42L);
+            expected = new JSONObject(expectedStr);
+        }
+    }
+
+    /**
+     * Compares already parsed documents, isolating the comparator from the parser.
+     */
+    @Benchmark
+    public JSONCompareResult compareParsed() {
+        return JSONCompare.compareJSON(expected, actual, jsonComparator);
+    }
+
+    /**
+     * Compares the raw strings, as {@code JSONAssert.assertEquals(String, String, ...)} does.
+     */
+    @Benchmark
+    public JSONCompareResult compareStrings() {
+        return JSONCompare.compareJSON(expectedStr, actualStr, jsonComparator);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.JSONPathCustomization;
+import org.skyscreamer.jsonassert.comparator.JSONPathComparator;
+
+/**
+ * Measures how {@link JSONPathComparator} throughput scales with the number of threads when every thread shares a
+ * single comparator, against giving each thread its own.  Run it once per thread count, for example:
+ * <pre>
+ * mvn -P benchmarks test-compile exec:exec -Djmh.args="JSONPathContentionBenchmark -t 1"
+ * mvn -P benchmarks test-compile exec:exec -Djmh.args="JSONPathContentionBenchmark -t 16"
+ * </pre>
+ * With no shared state between comparisons, {@code shared} should keep pace with {@code perThread} and grow with
+ * the number of cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class JSONPathContentionBenchmark {
+
+    /**
+     * The comparator shared by every thread.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"STRICT", "LENIENT"})
+        public JSONCompareMode mode;
+
+        JSONPathComparator comparator;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            comparator = newComparator(mode);
+        }
+    }
+
+    /**
+     * A thread's own documents, and its own comparator.
+     */
+    @State(Scope.Thread)
+    public static class PerThread {
+        @Param({"16KB"})
+        public String size;
+
+        JSONPathComparator comparator;
+        JSONObject expected;
+        JSONObject actual;
+
+        @Setup(Level.Trial)
+        public void setUp(Shared shared) {
+            comparator = newComparator(shared.mode);
+            String json = Payloads.generate(Payloads.Shape.WIDE, Payloads.parseSize(size), 42L);
+            expected = new JSONObject(json);
+            actual = new JSONObject(json);
+        }
+    }
+
+    @Benchmark
+    public JSONCompareResult shared(Shared shared, PerThread thread) {
+        return JSONCompare.compareJSON(thread.expected, thread.actual, shared.comparator);
+    }
+
+    @Benchmark
+    public JSONCompareResult perThread(PerThread thread) {
+        return JSONCompare.compareJSON(thread.expected, thread.actual, thread.comparator);
+    }
+
+    private static JSONPathComparator newComparator(JSONCompareMode mode) {
+        return new JSONPathComparator(mode, JSONPathCustomization.ofIgnore("$..timestamp"));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.JSONPathCustomization;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.JSONPathComparator;
+
+/**
+ * Breaks the cost of a {@link JSONPathComparator} comparison down into its parts:
+ * <ul>
+ *     <li>{@code baseline}: the same comparison with a {@link DefaultComparator}, without customizations;</li>
+ *     <li>{@code queries}: evaluating the JSONPath queries against the actual document, which is most of the cost
+ *     of building the per-comparison match table;</li>
+ *     <li>{@code compare}: the whole comparison, including building the table and looking up every visited node.</li>
+ * </ul>
+ * The cost of indexing and looking up is what {@code compare} takes beyond {@code baseline} and {@code queries}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class JSONPathMatchTableBenchmark {
+
+    /**
+     * Sets of customizations, from a few selected nodes to every node in the document.
+     */
+    public enum Rules {
+        TIMESTAMPS("$..timestamp"),
+        SEVERAL_FIELDS("$..timestamp", "$..name", "$..score", "$..weight", "$..tags[*]"),
+        EVERYTHING("$..*");
+
+        private final String[] queries;
+
+        Rules(String... queries) {
+            this.queries = queries;
+        }
+    }
+
+    @Param({"TIMESTAMPS", "SEVERAL_FIELDS", "EVERYTHING"})
+    public Rules rules;
+
+    @Param({"DEEP", "WIDE", "ARRAY"})
+    public Payloads.Shape shape;
+
+    @Param({"64KB", "1MB"})
+    public String size;
+
+    private final Configuration configuration = new Configuration.ConfigurationBuilder()
+            .jsonProvider(new JsonOrgJsonProvider()).build();
+    private JSONPathCustomization[] customizations;
+    private JSONPathComparator comparator;
+    private DefaultComparator baselineComparator;
+    private JSONObject expected;
+    private JSONObject actual;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customizations = new JSONPathCustomization[rules.queries.length];
+        for (int i = 0; i < customizations.length; i++) {
+            customizations[i] = JSONPathCustomization.ofIgnore(rules.queries[i]);
+        }
+        comparator = new JSONPathComparator(JSONCompareMode.STRICT, customizations);
+        baselineComparator = new DefaultComparator(JSONCompareMode.STRICT);
+        String json = Payloads.generate(shape, Payloads.parseSize(size), 42L);
+        expected = new JSONObject(json);
+        actual = new JSONObject(json);
+    }
+
+    @Benchmark
+    public JSONCompareResult baseline() {
+        return JSONCompare.compareJSON(expected, actual, baselineComparator);
+    }
+
+    @Benchmark
+    public void queries(Blackhole blackhole) {
+        for (JSONPathCustomization customization : customizations) {
+            blackhole.consume(customization.getJsonPath().read(actual, configuration));
+        }
+    }
+
+    @Benchmark
+    public JSONCompareResult compare() {
+        return JSONCompare.compareJSON(expected, actual, comparator);
+    }
+}
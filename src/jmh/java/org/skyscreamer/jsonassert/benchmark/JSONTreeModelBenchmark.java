@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.JSONTreeModel;
+
+/**
+ * Compares a tree of {@code java.util} maps and lists to an expected string, once by serializing the tree and
+ * parsing it back, as callers had to before {@link JSONTreeModel}, and once by reading it through
+ * {@link JSONTreeModel#JAVA_UTIL}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class JSONTreeModelBenchmark {
+
+    @Param({"1KB", "1MB"})
+    public String size;
+
+    @Param({"DEEP", "WIDE", "ARRAY"})
+    public Payloads.Shape shape;
+
+    @Param({"STRICT", "LENIENT"})
+    public JSONCompareMode mode;
+
+    private String expected;
+    private Map<String, Object> tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        expected = Payloads.generate(shape, Payloads.parseSize(size), 42L);
+        tree = new JSONObject(expected).toMap();
+    }
+
+    @Benchmark
+    public JSONCompareResult roundTrip() {
+        return JSONCompare.compareJSON(expected, JSONObject.valueToString(tree), mode);
+    }
+
+    @Benchmark
+    public JSONCompareResult treeModel() {
+        return JSONCompare.compareJSON(expected, tree, JSONTreeModel.JAVA_UTIL, mode);
+    }
+}
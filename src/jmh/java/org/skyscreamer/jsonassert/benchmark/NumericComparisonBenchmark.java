@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.NumericComparison;
+
+/**
+ * Measures the {@link NumericComparison} strategies against each other. {@code AS_DOUBLES} is how numbers were
+ * compared before the strategy became configurable, so it is the baseline for the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class NumericComparisonBenchmark {
+
+    /**
+     * The strategies under test.
+     */
+    public enum Strategy {
+        EXACT(NumericComparison.EXACT),
+        AS_DOUBLES(NumericComparison.AS_DOUBLES),
+        TOLERANCE(NumericComparison.withTolerance(1e-9)),
+        ULPS(NumericComparison.withinUlps(4));
+
+        final NumericComparison numericComparison;
+
+        Strategy(NumericComparison numericComparison) {
+            this.numericComparison = numericComparison;
+        }
+    }
+
+    private static final int PAIRS = 1024;
+
+    @Param({"EXACT", "AS_DOUBLES", "TOLERANCE", "ULPS"})
+    public Strategy numeric;
+
+    @Param({"1KB", "1MB"})
+    public String size;
+
+    private DefaultComparator comparator;
+    private JSONObject expected;
+    private JSONObject actual;
+    private Number[] expectedNumbers;
+    private Number[] actualNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int bytes = Payloads.parseSize(size);
+        comparator = new DefaultComparator(JSONCompareMode.STRICT, numeric.numericComparison);
+        expected = new JSONObject(generateNumbers(bytes, 42L));
+        actual = new JSONObject(generateNumbers(bytes, 42L));
+
+        Random random = new Random(42L);
+        expectedNumbers = new Number[PAIRS];
+        actualNumbers = new Number[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            long value = random.nextInt(1000000);
+            switch (i % 4) {
+                case 0:
+                    expectedNumbers[i] = (int) value;
+                    actualNumbers[i] = (int) value;
+                    break;
+                case 1:
+                    expectedNumbers[i] = (int) value;
+                    actualNumbers[i] = Long.valueOf(value);
+                    break;
+                case 2:
+                    expectedNumbers[i] = BigDecimal.valueOf(value, 2);
+                    actualNumbers[i] = BigDecimal.valueOf(value * 10, 3);
+                    break;
+                default:
+                    expectedNumbers[i] = BigInteger.valueOf(value).shiftLeft(64);
+                    actualNumbers[i] = value / 100.0;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Compares two equal documents made up mostly of numbers.
+     */
+    @Benchmark
+    public JSONCompareResult compareDocuments() {
+        return JSONCompare.compareJSON(expected, actual, comparator);
+    }
+
+    /**
+     * Compares pairs of numbers of mixed types directly, without walking a document.
+     */
+    @Benchmark
+    public void comparePairs(Blackhole blackhole) {
+        NumericComparison numericComparison = numeric.numericComparison;
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(numericComparison.equal(expectedNumbers[i], actualNumbers[i]));
+        }
+    }
+
+    private static String generateNumbers(int targetBytes, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(targetBytes + 1024);
+        sb.append("{\"values\":[");
+        int id = 0;
+        do {
+            if (id > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(id)
+                    .append(",\"count\":").append(1700000000000L + random.nextInt(1000000000))
+                    .append(",\"price\":").append(random.nextInt(100000)).append('.').append(random.nextInt(100))
+                    .append(",\"ratio\":").append(random.nextDouble())
+                    .append('}');
+            id++;
+        } while (sb.length() < targetBytes);
+        sb.append("]}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Generates deterministic JSON payloads of a requested size for the benchmarks.
+ */
+public final class Payloads {
+
+    /**
+     * The overall structure of a generated payload.
+     */
+    public enum Shape {
+        /**
+         * An array of chains of nested objects, each chain {@value #CHAIN_DEPTH} levels deep.
+         */
+        DEEP,
+        /**
+         * A single object with as many keys as needed to reach the requested size.
+         */
+        WIDE,
+        /**
+         * An object holding one large array of small objects, each with a unique {@code id}.
+         */
+        ARRAY
+    }
+
+    static final int CHAIN_DEPTH = 32;
+
+    private Payloads() {
+    }
+
+    /**
+     * Parses a size such as {@code 1KB}, {@code 10MB} or {@code 512} (bytes).
+     *
+     * @param size the size to parse
+     * @return the size in bytes
+     */
+    public static int parseSize(String size) {
+        String s = size.trim().toUpperCase(Locale.ROOT);
+        if (s.endsWith("KB")) {
+            return Integer.parseInt(s.substring(0, s.length() - 2).trim()) * 1024;
+        } else if (s.endsWith("MB")) {
+            return Integer.parseInt(s.substring(0, s.length() - 2).trim()) * 1024 * 1024;
+        }
+        return Integer.parseInt(s);
+    }
+
+    /**
+     * Generates a JSON document of roughly {@code targetBytes} characters. The same arguments always produce the
+     * same document.
+     *
+     * @param shape       the structure of the document
+     * @param targetBytes the approximate size of the document
+     * @param seed        seed for the generated values
+     * @return the JSON document
+     */
+    public static String generate(Shape shape, int targetBytes, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(targetBytes + 1024);
+        switch (shape) {
+            case DEEP:
+                generateDeep(sb, targetBytes, random);
+                break;
+            case WIDE:
+                generateWide(sb, targetBytes, random);
+                break;
+            case ARRAY:
+                generateArray(sb, targetBytes, random);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds the expectation for {@link org.skyscreamer.jsonassert.comparator.ArraySizeComparator} from a
+     * document: every array reachable through objects is replaced by a one element array holding its length.
+     *
+     * @param document the document to derive the expectation from
+     * @return a copy of {@code document} with arrays replaced by their sizes
+     */
+    public static JSONObject arraySizeExpectation(JSONObject document) {
+        JSONObject copy = new JSONObject();
+        for (String key : document.keySet()) {
+            Object value = document.get(key);
+            if (value instanceof JSONArray) {
+                copy.put(key, new JSONArray().put(((JSONArray) value).length()));
+            } else if (value instanceof JSONObject) {
+                copy.put(key, arraySizeExpectation((JSONObject) value));
+            } else {
+                copy.put(key, value);
+            }
+        }
+        return copy;
+    }
+
+    private static void generateDeep(StringBuilder sb, int targetBytes, Random random) {
+        sb.append("{\"timestamp\":").append(timestamp(random)).append(",\"chains\":[");
+        int chain = 0;
+        do {
+            if (chain > 0) {
+                sb.append(',');
+            }
+            for (int level = 0; level < CHAIN_DEPTH; level++) {
+                sb.append("{\"level\":").append(level)
+                        .append(",\"name\":\"chain-").append(chain).append('-').append(level)
+                        .append("\",\"timestamp\":").append(timestamp(random))
+                        .append(",\"weight\":").append(random.nextDouble());
+                if (level < CHAIN_DEPTH - 1) {
+                    sb.append(",\"child\":");
+                }
+            }
+            for (int level = 0; level < CHAIN_DEPTH; level++) {
+                sb.append('}');
+            }
+            chain++;
+        } while (sb.length() < targetBytes);
+        sb.append("]}");
+    }
+
+    private static void generateWide(StringBuilder sb, int targetBytes, Random random) {
+        sb.append("{\"timestamp\":").append(timestamp(random));
+        int key = 0;
+        while (sb.length() < targetBytes) {
+            sb.append(",\"k").append(key).append("\":");
+            appendScalar(sb, key, random);
+            key++;
+        }
+        sb.append('}');
+    }
+
+    private static void generateArray(StringBuilder sb, int targetBytes, Random random) {
+        sb.append("{\"timestamp\":").append(timestamp(random)).append(",\"items\":[");
+        int id = 0;
+        do {
+            if (id > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(id)
+                    .append(",\"name\":\"item-").append(id)
+                    .append("\",\"score\":").append(random.nextInt(1000))
+                    .append(",\"active\":").append(random.nextBoolean())
+                    .append(",\"timestamp\":").append(timestamp(random))
+                    .append(",\"tags\":[\"t").append(random.nextInt(16))
+                    .append("\",\"t").append(random.nextInt(16)).append("\"]}");
+            id++;
+        } while (sb.length() < targetBytes);
+        sb.append("]}");
+    }
+
+    private static void appendScalar(StringBuilder sb, int index, Random random) {
+        switch (index % 4) {
+            case 0:
+                sb.append(random.nextInt());
+                break;
+            case 1:
+                sb.append("\"value-").append(random.nextInt(100000)).append('"');
+                break;
+            case 2:
+                sb.append(random.nextBoolean());
+                break;
+            default:
+                sb.append(random.nextDouble());
+                break;
+        }
+    }
+
+    private static long timestamp(Random random) {
+        return 1700000000000L + random.nextInt(1000000000);
+    }
+}
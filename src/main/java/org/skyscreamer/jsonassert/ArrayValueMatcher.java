@@ -18,6 +18,7 @@ import java.text.MessageFormat;
 
 import org.json.JSONArray;
 import org.json.JSONException;
+import org.skyscreamer.jsonassert.comparator.JSONComparePath;
 import org.skyscreamer.jsonassert.comparator.JSONComparator;
 
 /**
@@ -205,11 +206,12 @@ public class ArrayValueMatcher<T> implements LocationAwareValueMatcher<T> {
 			int first = Math.max(0, from);
 			int last = Math.min(actualArray.length() - 1, to);
 			int expectedLen = expectedArray.length();
+			JSONComparePath path = new JSONComparePath(prefix);
 			for (int i = first; i <= last; i++) {
-				String elementPrefix = MessageFormat.format("{0}[{1}]", prefix, i);
 				Object actualElement = actualArray.get(i);
 				Object expectedElement = expectedArray.get((i - first) % expectedLen);
-				comparator.compareValues(elementPrefix, expectedElement, actualElement, result);
+				comparator.compareValues(path.pushIndex(i).toString(), expectedElement, actualElement, result);
+				path.pop();
 			}
 			// any failures have already been passed to result, so return true
 			return true;
@@ -0,0 +1,323 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.allJSONObjects;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.allSimpleValues;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.arrayOfJsonObjectToMap;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.findUniqueKey;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.getKeys;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.getObjectOrNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONString;
+import org.skyscreamer.jsonassert.comparator.CustomComparator;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+import org.skyscreamer.jsonassert.comparator.JSONFingerprinter;
+
+/**
+ * An expected JSON document compiled together with a comparator, for checking many actual documents against the
+ * same expectation.
+ * <p>
+ * For a {@link DefaultComparator} or a {@link CustomComparator}, everything that only depends on the expected
+ * document is worked out once: the sorted keys of each object, the unique key and keyed objects of arrays of
+ * objects, the value counts of arrays of simple values, and the fingerprints of every object and array.  The
+ * comparison itself is the comparator's own, so results are the same as comparing with it directly.  Other
+ * comparators, including subclasses of these two, are simply called with the expected document.
+ * <p>
+ * A compiled expectation is immutable and can be used from several threads at once, as long as any
+ * customizations can.  It works on its own copy of the expected document, which is never handed out: a failed
+ * comparison is reported against a fresh copy.
+ */
+public final class CompiledExpectation {
+    private final Object expected;
+    private final JSONComparator indexedComparator;
+
+    private CompiledExpectation(Object expected, JSONComparator comparator) {
+        this.expected = expected;
+        Class<?> type = comparator.getClass();
+        if (type == DefaultComparator.class || type == CustomComparator.class) {
+            this.indexedComparator = new IndexedComparator(expected, (DefaultComparator) comparator);
+        } else {
+            this.indexedComparator = comparator;
+        }
+    }
+
+    /**
+     * Compiles an expected JSON string.
+     *
+     * @param expectedStr Expected JSON string
+     * @param comparator Comparator to use
+     * @return the compiled expectation
+     */
+    public static CompiledExpectation compile(String expectedStr, JSONComparator comparator) {
+        return new CompiledExpectation(JSONParser.parseJSON(expectedStr), comparator);
+    }
+
+    /**
+     * Compiles an expected JSON string.
+     *
+     * @param expectedStr Expected JSON string
+     * @param mode Defines comparison behavior
+     * @return the compiled expectation
+     */
+    public static CompiledExpectation compile(String expectedStr, JSONCompareMode mode) {
+        return compile(expectedStr, new DefaultComparator(mode));
+    }
+
+    /**
+     * Compiles a copy of an expected JSONObject.  Later changes to {@code expected} do not affect the expectation.
+     *
+     * @param expected Expected JSONObject
+     * @param comparator Comparator to use
+     * @return the compiled expectation
+     */
+    public static CompiledExpectation compile(JSONObject expected, JSONComparator comparator) {
+        return new CompiledExpectation(copy(expected), comparator);
+    }
+
+    /**
+     * Compiles a copy of an expected JSONArray.  Later changes to {@code expected} do not affect the expectation.
+     *
+     * @param expected Expected JSONArray
+     * @param comparator Comparator to use
+     * @return the compiled expectation
+     */
+    public static CompiledExpectation compile(JSONArray expected, JSONComparator comparator) {
+        return new CompiledExpectation(copy(expected), comparator);
+    }
+
+    /**
+     * Compares a JSON string to the expectation.
+     *
+     * @param actualStr JSON string to compare
+     * @return result of the comparison
+     */
+    public JSONCompareResult compareJSON(String actualStr) {
+        return compareParsed(JSONParser.parseJSON(actualStr));
+    }
+
+    /**
+     * Compares a JSONObject to the expectation.
+     *
+     * @param actual JSONObject to compare
+     * @return result of the comparison
+     */
+    public JSONCompareResult compareJSON(JSONObject actual) {
+        return compareParsed(actual);
+    }
+
+    /**
+     * Compares a JSONArray to the expectation.
+     *
+     * @param actual JSONArray to compare
+     * @return result of the comparison
+     */
+    public JSONCompareResult compareJSON(JSONArray actual) {
+        return compareParsed(actual);
+    }
+
+    /**
+     * Checks whether a JSON string matches the expectation, stopping at the first difference.
+     *
+     * @param actualStr JSON string to compare
+     * @return true if the comparison passes
+     */
+    public boolean matches(String actualStr) {
+        return matchesParsed(JSONParser.parseJSON(actualStr));
+    }
+
+    /**
+     * Checks whether a JSONObject matches the expectation, stopping at the first difference.
+     *
+     * @param actual JSONObject to compare
+     * @return true if the comparison passes
+     */
+    public boolean matches(JSONObject actual) {
+        return matchesParsed(actual);
+    }
+
+    /**
+     * Checks whether a JSONArray matches the expectation, stopping at the first difference.
+     *
+     * @param actual JSONArray to compare
+     * @return true if the comparison passes
+     */
+    public boolean matches(JSONArray actual) {
+        return matchesParsed(actual);
+    }
+
+    private JSONCompareResult compareParsed(Object actual) {
+        if (matchesParsed(actual)) {
+            return new JSONCompareResult();
+        }
+        JSONCompareResult result = new JSONCompareResult();
+        compare(indexedComparator, copy(expected), actual, result);
+        return result;
+    }
+
+    private boolean matchesParsed(Object actual) {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        compare(indexedComparator, expected, actual, result);
+        return result.passed();
+    }
+
+    private static void compare(JSONComparator comparator, Object expected, Object actual, JSONCompareResult result) {
+        if (expected instanceof JSONObject && actual instanceof JSONObject) {
+            comparator.compareJSON("", (JSONObject) expected, (JSONObject) actual, result);
+        } else if (expected instanceof JSONArray && actual instanceof JSONArray) {
+            comparator.compareJSONArray("", (JSONArray) expected, (JSONArray) actual, result);
+        } else if (expected instanceof JSONString && actual instanceof JSONString) {
+            if (!((JSONString) expected).toJSONString().equals(((JSONString) actual).toJSONString())) {
+                result.fail("");
+            }
+        } else {
+            result.fail("", expected, actual);
+        }
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            JSONObject copy = new JSONObject();
+            for (String key : object.keySet()) {
+                copy.put(key, copy(object.get(key)));
+            }
+            return copy;
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            JSONArray copy = new JSONArray();
+            for (int i = 0; i < array.length(); ++i) {
+                copy.put(copy(array.opt(i)));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * A {@link CustomComparator}, which compares like a {@link DefaultComparator} when it has no customizations,
+     * that looks up what only depends on the expected document in an index built up front: the sorted keys of each
+     * object, the unique key and keyed objects of arrays of objects, the value counts of arrays of simple values,
+     * and the fingerprints of every object and array.  Values that are not part of the expected document, such as
+     * those of a copy, are compared as usual.
+     */
+    private static final class IndexedComparator extends CustomComparator {
+        private final Map<Object, Set<String>> objectKeys = new IdentityHashMap<Object, Set<String>>();
+        private final Map<Object, String> uniqueKeys = new IdentityHashMap<Object, String>();
+        private final Map<Object, Map<Object, JSONObject>> byUniqueKey =
+                new IdentityHashMap<Object, Map<Object, JSONObject>>();
+        private final Map<Object, Map<Object, Integer>> cardinalities =
+                new IdentityHashMap<Object, Map<Object, Integer>>();
+        private final JSONFingerprinter fingerprints;
+
+        IndexedComparator(Object expected, DefaultComparator comparator) {
+            super(comparator.getMode(), comparator.getNumericComparison(), customizationsOf(comparator));
+            index(expected);
+            this.fingerprints = new JSONFingerprinter(comparator.getMode());
+            fingerprints.fingerprint(expected);
+        }
+
+        private static Customization[] customizationsOf(DefaultComparator comparator) {
+            if (!(comparator instanceof CustomComparator)) {
+                return new Customization[0];
+            }
+            Collection<Customization> customizations = ((CustomComparator) comparator).getCustomizations();
+            return customizations.toArray(new Customization[0]);
+        }
+
+        private void index(Object value) {
+            if (value instanceof JSONObject) {
+                JSONObject object = (JSONObject) value;
+                Set<String> keys = Collections.unmodifiableSet(getKeys(object));
+                objectKeys.put(object, keys);
+                for (String key : keys) {
+                    index(object.get(key));
+                }
+            } else if (value instanceof JSONArray) {
+                JSONArray array = (JSONArray) value;
+                if (allSimpleValues(array)) {
+                    cardinalities.put(array, Collections.unmodifiableMap(count(array)));
+                } else if (allJSONObjects(array)) {
+                    String uniqueKey = findUniqueKey(array);
+                    uniqueKeys.put(array, uniqueKey);
+                    if (uniqueKey != null) {
+                        byUniqueKey.put(array, Collections.unmodifiableMap(arrayOfJsonObjectToMap(array, uniqueKey)));
+                    }
+                }
+                for (int i = 0; i < array.length(); ++i) {
+                    index(array.opt(i));
+                }
+            }
+        }
+
+        /**
+         * Counts values in order of first appearance, in which the comparator reports them.
+         */
+        private static Map<Object, Integer> count(JSONArray array) {
+            Map<Object, Integer> counts = new LinkedHashMap<Object, Integer>();
+            for (int i = 0; i < array.length(); ++i) {
+                Object value = getObjectOrNull(array, i);
+                Integer count = counts.get(value);
+                counts.put(value, count == null ? 1 : count + 1);
+            }
+            return counts;
+        }
+
+        @Override
+        protected Set<String> getExpectedKeys(JSONObject expected) {
+            Set<String> keys = objectKeys.get(expected);
+            return keys != null ? keys : super.getExpectedKeys(expected);
+        }
+
+        @Override
+        protected String getExpectedUniqueKey(JSONArray expected) {
+            return uniqueKeys.containsKey(expected) ? uniqueKeys.get(expected) : super.getExpectedUniqueKey(expected);
+        }
+
+        @Override
+        protected Map<Object, JSONObject> getExpectedObjectsByUniqueKey(JSONArray expected, String uniqueKey) {
+            Map<Object, JSONObject> objects = byUniqueKey.get(expected);
+            return objects != null ? objects : super.getExpectedObjectsByUniqueKey(expected, uniqueKey);
+        }
+
+        @Override
+        protected Map<Object, Integer> getExpectedCardinality(JSONArray expected) {
+            return cardinalities.get(expected);
+        }
+
+        @Override
+        protected JSONFingerprinter createFingerprinter() {
+            return new JSONFingerprinter(fingerprints);
+        }
+
+        /**
+         * As for a plain {@link DefaultComparator}, which this compares like when it has no customizations.
+         */
+        @Override
+        protected boolean matchesOnlyEqualValues() {
+            return !getMode().isExtensible() && !getNumericComparison().isTolerant() && getCustomizations().isEmpty();
+        }
+    }
+}
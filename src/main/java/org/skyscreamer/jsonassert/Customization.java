@@ -20,12 +20,14 @@ import java.util.regex.Pattern;
  * Associates a custom matcher to a specific jsonpath.
  */
 public final class Customization {
+	private final String expression;
 	private final Pattern path;
 	private final ValueMatcher<Object> comparator;
 
 	public Customization(String path, ValueMatcher<Object> comparator) {
         assert path != null;
         assert comparator != null;
+		this.expression = path;
 		this.path = Pattern.compile(buildPattern(path));
 		this.comparator = comparator;
 	}
@@ -98,6 +100,13 @@ public final class Customization {
 		return new Customization(path, comparator);
 	}
 
+	/**
+	 * @return the path expression this customization was created with, such as {@code "a.*.b"} or {@code "**.id"}
+	 */
+	public String getPath() {
+		return expression;
+	}
+
     public boolean appliesToPath(String path) {
         return this.path.matcher(path).matches();
     }
@@ -14,6 +14,12 @@
 
 package org.skyscreamer.jsonassert;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.skyscreamer.jsonassert.comparator.JSONComparator;
@@ -128,7 +134,7 @@ public class JSONAssert {
      */
     public static void assertEquals(String message, String expectedStr, JSONObject actual, JSONCompareMode compareMode)
     {
-        Object expected = JSONParser.parseJSON(expectedStr);
+        Object expected = JSONCompare.parseExpected(expectedStr);
         if (expected instanceof JSONObject) {
             assertEquals(message, (JSONObject)expected, actual, compareMode);
         }
@@ -164,7 +170,7 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, String expectedStr, JSONObject actual,
                                        JSONCompareMode compareMode) {
-        Object expected = JSONParser.parseJSON(expectedStr);
+        Object expected = JSONCompare.parseExpected(expectedStr);
         if (expected instanceof JSONObject) {
             assertNotEquals(message, (JSONObject) expected, actual, compareMode);
         }
@@ -245,7 +251,7 @@ public class JSONAssert {
      * @param compareMode Specifies which comparison mode to use
      */
     public static void assertEquals(String message, String expectedStr, JSONArray actual, JSONCompareMode compareMode) {
-        Object expected = JSONParser.parseJSON(expectedStr);
+        Object expected = JSONCompare.parseExpected(expectedStr);
         if (expected instanceof JSONArray) {
             assertEquals(message, (JSONArray) expected, actual, compareMode);
         }
@@ -263,7 +269,7 @@ public class JSONAssert {
      * @param compareMode Specifies which comparison mode to use
      */
     public static void assertNotEquals(String expectedStr, JSONArray actual, JSONCompareMode compareMode) {
-        Object expected = JSONParser.parseJSON(expectedStr);
+        Object expected = JSONCompare.parseExpected(expectedStr);
         if (expected instanceof JSONArray) {
             assertNotEquals((JSONArray) expected, actual, compareMode);
         }
@@ -283,7 +289,7 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, String expectedStr, JSONArray actual,
                                        JSONCompareMode compareMode) {
-        Object expected = JSONParser.parseJSON(expectedStr);
+        Object expected = JSONCompare.parseExpected(expectedStr);
         if (expected instanceof JSONArray) {
             assertNotEquals(message, (JSONArray) expected, actual, compareMode);
         }
@@ -399,9 +405,8 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, String expectedStr, String actualStr,
                                        JSONCompareMode compareMode) {
-        JSONCompareResult result = JSONCompare.compareJSON(expectedStr, actualStr, compareMode);
-        if (result.passed()) {
-            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        if (JSONCompare.matches(expectedStr, actualStr, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
         }
     }
 
@@ -434,6 +439,37 @@ public class JSONAssert {
         }
     }
 
+    /**
+     * Asserts that the json string provided matches the expected string.  If it isn't it throws an
+     * {@link AssertionError} listing at most {@code maxFailures} differences.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actualStr String to compare
+     * @param comparator Comparator
+     * @param maxFailures Maximum number of differences to collect before the comparison stops
+     */
+    public static void assertEquals(String expectedStr, String actualStr, JSONComparator comparator, int maxFailures) {
+        assertEquals("", expectedStr, actualStr, comparator, maxFailures);
+    }
+
+    /**
+     * Asserts that the json string provided matches the expected string.  If it isn't it throws an
+     * {@link AssertionError} listing at most {@code maxFailures} differences.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expectedStr Expected JSON string
+     * @param actualStr String to compare
+     * @param comparator Comparator
+     * @param maxFailures Maximum number of differences to collect before the comparison stops
+     */
+    public static void assertEquals(String message, String expectedStr, String actualStr, JSONComparator comparator,
+                                    int maxFailures) {
+        JSONCompareResult result = JSONCompare.compareJSON(expectedStr, actualStr, comparator, maxFailures);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
     /**
      * Asserts that the json string provided does not match the expected string.  If it is it throws an
      * {@link AssertionError}.
@@ -457,9 +493,8 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, String expectedStr, String actualStr,
                                        JSONComparator comparator) {
-        JSONCompareResult result = JSONCompare.compareJSON(expectedStr, actualStr, comparator);
-        if (result.passed()) {
-            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        if (JSONCompare.matches(expectedStr, actualStr, comparator)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
         }
     }
 
@@ -491,6 +526,38 @@ public class JSONAssert {
         }
     }
 
+    /**
+     * Asserts that the JSONObject provided matches the expected JSONObject.  If it isn't it throws an
+     * {@link AssertionError} listing at most {@code maxFailures} differences.
+     *
+     * @param expected Expected JSONObject
+     * @param actual JSONObject to compare
+     * @param comparator Comparator
+     * @param maxFailures Maximum number of differences to collect before the comparison stops
+     */
+    public static void assertEquals(JSONObject expected, JSONObject actual, JSONComparator comparator,
+                                    int maxFailures) {
+        assertEquals("", expected, actual, comparator, maxFailures);
+    }
+
+    /**
+     * Asserts that the JSONObject provided matches the expected JSONObject.  If it isn't it throws an
+     * {@link AssertionError} listing at most {@code maxFailures} differences.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Expected JSONObject
+     * @param actual JSONObject to compare
+     * @param comparator Comparator
+     * @param maxFailures Maximum number of differences to collect before the comparison stops
+     */
+    public static void assertEquals(String message, JSONObject expected, JSONObject actual, JSONComparator comparator,
+                                    int maxFailures) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, comparator, maxFailures);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
     /**
      * Asserts that the JSONObject provided does not match the expected JSONObject.  If it is it throws an
      * {@link AssertionError}.
@@ -514,9 +581,8 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, JSONObject expected, JSONObject actual,
                                        JSONComparator comparator) {
-        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, comparator);
-        if (result.passed()) {
-            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        if (JSONCompare.matches(expected, actual, comparator)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
         }
     }
     
@@ -622,9 +688,8 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, JSONObject expected, JSONObject actual,
                                        JSONCompareMode compareMode) {
-        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, compareMode);
-        if (result.passed()) {
-            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        if (JSONCompare.matches(expected, actual, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
         }
     }
 
@@ -729,12 +794,584 @@ public class JSONAssert {
      */
     public static void assertNotEquals(String message, JSONArray expected, JSONArray actual,
                                        JSONCompareMode compareMode) {
+        if (JSONCompare.matches(expected, actual, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(Reader expected, Reader actual, JSONCompareMode compareMode) {
+        assertEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(String message, Reader expected, Reader actual, JSONCompareMode compareMode) {
         JSONCompareResult result = JSONCompare.compareJSON(expected, actual, compareMode);
-        if (result.passed()) {
+        if (result.failed()) {
             throw new AssertionError(getCombinedMessage(message, result.getMessage()));
         }
     }
-    
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertNotEquals(Reader expected, Reader actual, JSONCompareMode compareMode) {
+        assertNotEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertNotEquals(String message, Reader expected, Reader actual, JSONCompareMode compareMode) {
+        if (JSONCompare.matches(expected, actual, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertEquals(Reader expected, Reader actual, JSONComparator comparator) {
+        assertEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertEquals(String message, Reader expected, Reader actual, JSONComparator comparator) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, comparator);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertNotEquals(Reader expected, Reader actual, JSONComparator comparator) {
+        assertNotEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The readers are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Reader supplying the expected JSON
+     * @param actual Reader supplying the JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertNotEquals(String message, Reader expected, Reader actual, JSONComparator comparator) {
+        if (JSONCompare.matches(expected, actual, comparator)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(InputStream expected, InputStream actual, JSONCompareMode compareMode) {
+        assertEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(String message, InputStream expected, InputStream actual,
+                                    JSONCompareMode compareMode) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, compareMode);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertNotEquals(InputStream expected, InputStream actual, JSONCompareMode compareMode) {
+        assertNotEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertNotEquals(String message, InputStream expected, InputStream actual,
+                                       JSONCompareMode compareMode) {
+        if (JSONCompare.matches(expected, actual, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertEquals(InputStream expected, InputStream actual, JSONComparator comparator) {
+        assertEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertEquals(String message, InputStream expected, InputStream actual,
+                                    JSONComparator comparator) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, comparator);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertNotEquals(InputStream expected, InputStream actual, JSONComparator comparator) {
+        assertNotEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual Stream of UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertNotEquals(String message, InputStream expected, InputStream actual,
+                                       JSONComparator comparator) {
+        if (JSONCompare.matches(expected, actual, comparator)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertEquals(Path expected, Path actual, JSONCompareMode compareMode) {
+        assertEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertEquals(String message, Path expected, Path actual, JSONCompareMode compareMode) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, compareMode);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertNotEquals(Path expected, Path actual, JSONCompareMode compareMode) {
+        assertNotEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertNotEquals(String message, Path expected, Path actual, JSONCompareMode compareMode) {
+        if (JSONCompare.matches(expected, actual, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param comparator Comparator
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertEquals(Path expected, Path actual, JSONComparator comparator) {
+        assertEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param comparator Comparator
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertEquals(String message, Path expected, Path actual, JSONComparator comparator) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, comparator);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param comparator Comparator
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertNotEquals(Path expected, Path actual, JSONComparator comparator) {
+        assertNotEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual UTF-8 encoded file holding the JSON to compare
+     * @param comparator Comparator
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static void assertNotEquals(String message, Path expected, Path actual, JSONComparator comparator) {
+        if (JSONCompare.matches(expected, actual, comparator)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(ByteBuffer expected, ByteBuffer actual, JSONCompareMode compareMode) {
+        assertEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(String message, ByteBuffer expected, ByteBuffer actual,
+                                    JSONCompareMode compareMode) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, compareMode);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertNotEquals(ByteBuffer expected, ByteBuffer actual, JSONCompareMode compareMode) {
+        assertNotEquals("", expected, actual, compareMode);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertNotEquals(String message, ByteBuffer expected, ByteBuffer actual,
+                                       JSONCompareMode compareMode) {
+        if (JSONCompare.matches(expected, actual, compareMode)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertEquals(ByteBuffer expected, ByteBuffer actual, JSONComparator comparator) {
+        assertEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} matches the JSON in {@code expected}.  If it isn't it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertEquals(String message, ByteBuffer expected, ByteBuffer actual, JSONComparator comparator) {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, comparator);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertNotEquals(ByteBuffer expected, ByteBuffer actual, JSONComparator comparator) {
+        assertNotEquals("", expected, actual, comparator);
+    }
+
+    /**
+     * Asserts that the JSON in {@code actual} does not match the JSON in {@code expected}.  If it is it throws an
+     * {@link AssertionError}.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left
+     * unchanged.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param comparator Comparator
+     */
+    public static void assertNotEquals(String message, ByteBuffer expected, ByteBuffer actual,
+                                       JSONComparator comparator) {
+        if (JSONCompare.matches(expected, actual, comparator)) {
+            throw new AssertionError(getCombinedMessage(message, ""));
+        }
+    }
+
+    /**
+     * Asserts that a JSON tree held in memory matches the expected string, reading the tree through {@code model}
+     * instead of serializing it.  If it doesn't it throws an {@link AssertionError}.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actual Tree to compare, such as a {@code Map} for {@link JSONTreeModel#JAVA_UTIL}
+     * @param model Reads the nodes of {@code actual}
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(String expectedStr, Object actual, JSONTreeModel model,
+                                    JSONCompareMode compareMode) {
+        assertEquals("", expectedStr, actual, model, compareMode);
+    }
+
+    /**
+     * Asserts that a JSON tree held in memory matches the expected string, reading the tree through {@code model}
+     * instead of serializing it.  If it doesn't it throws an {@link AssertionError}.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expectedStr Expected JSON string
+     * @param actual Tree to compare, such as a {@code Map} for {@link JSONTreeModel#JAVA_UTIL}
+     * @param model Reads the nodes of {@code actual}
+     * @param compareMode Specifies which comparison mode to use
+     */
+    public static void assertEquals(String message, String expectedStr, Object actual, JSONTreeModel model,
+                                    JSONCompareMode compareMode) {
+        JSONCompareResult result = JSONCompare.compareJSON(expectedStr, actual, model, compareMode);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that a JSON tree held in memory matches the expected string, reading the tree through {@code model}
+     * instead of serializing it.  If it doesn't it throws an {@link AssertionError}.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actual Tree to compare, such as a {@code Map} for {@link JSONTreeModel#JAVA_UTIL}
+     * @param model Reads the nodes of {@code actual}
+     * @param comparator Comparator
+     */
+    public static void assertEquals(String expectedStr, Object actual, JSONTreeModel model,
+                                    JSONComparator comparator) {
+        assertEquals("", expectedStr, actual, model, comparator);
+    }
+
+    /**
+     * Asserts that a JSON tree held in memory matches the expected string, reading the tree through {@code model}
+     * instead of serializing it.  If it doesn't it throws an {@link AssertionError}.
+     *
+     * @param message Error message to be displayed in case of assertion failure
+     * @param expectedStr Expected JSON string
+     * @param actual Tree to compare, such as a {@code Map} for {@link JSONTreeModel#JAVA_UTIL}
+     * @param model Reads the nodes of {@code actual}
+     * @param comparator Comparator
+     */
+    public static void assertEquals(String message, String expectedStr, Object actual, JSONTreeModel model,
+                                    JSONComparator comparator) {
+        JSONCompareResult result = JSONCompare.compareJSON(expectedStr, actual, model, comparator);
+        if (result.failed()) {
+            throw new AssertionError(getCombinedMessage(message, result.getMessage()));
+        }
+    }
+
+    /**
+     * Asserts that every pair matches, comparing the pairs concurrently on the
+     * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool}.  If any of them doesn't it throws one
+     * {@link AssertionError} for all of the failed pairs.
+     *
+     * @param pairs the expected and actual JSON strings to compare
+     * @param compareMode Specifies which comparison mode to use
+     * @see JSONBatchCompare
+     */
+    public static void assertAllEquals(Iterable<JSONComparePair> pairs, JSONCompareMode compareMode) {
+        assertPassed(JSONBatchCompare.compareJSON(pairs, compareMode));
+    }
+
+    /**
+     * Asserts that every pair matches, comparing the pairs concurrently on the
+     * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool}.  If any of them doesn't it throws one
+     * {@link AssertionError} for all of the failed pairs.
+     *
+     * @param pairs the expected and actual JSON strings to compare
+     * @param comparator Comparator, shared by all comparisons
+     * @see JSONBatchCompare
+     */
+    public static void assertAllEquals(Iterable<JSONComparePair> pairs, JSONComparator comparator) {
+        assertPassed(JSONBatchCompare.compareJSON(pairs, comparator));
+    }
+
+    /**
+     * Asserts that every pair matches, comparing the pairs concurrently on provided executor.  If any of them
+     * doesn't it throws one {@link AssertionError} for all of the failed pairs.
+     *
+     * @param pairs the expected and actual JSON strings to compare
+     * @param comparator Comparator, shared by all comparisons
+     * @param executor Runs the comparisons
+     * @see JSONBatchCompare
+     */
+    public static void assertAllEquals(Iterable<JSONComparePair> pairs, JSONComparator comparator,
+                                       Executor executor) {
+        assertPassed(JSONBatchCompare.compareJSON(pairs.iterator(), comparator, executor));
+    }
+
+    private static void assertPassed(JSONBatchResult result) {
+        if (result.failed()) {
+            throw new AssertionError(result.getMessage());
+        }
+    }
+
     private static String getCombinedMessage(String message1, String message2) {
         String combinedMessage = "";
         
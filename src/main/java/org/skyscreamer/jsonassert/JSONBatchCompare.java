@@ -0,0 +1,304 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.json.JSONException;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+
+/**
+ * Compares many {@linkplain JSONComparePair pairs} of JSON strings concurrently and gathers the failures into one
+ * {@link JSONBatchResult}.  This is the backend to {@link JSONAssert#assertAllEquals(Iterable, JSONComparator)}.
+ * <p>
+ * Pairs are handed to the executor in tasks of {@value #PAIRS_PER_TASK}, and only a few tasks per processor are waiting
+ * at any time, so the pairs can be produced lazily by an {@link Iterator} without all of them being held in memory.
+ * The calling thread never waits for a task that has not started: while too many are waiting it compares the next pairs
+ * itself, and once the pairs run out it compares those of the tasks the executor has not got round to.  A batch can
+ * therefore be compared from a thread of the executor that runs it, even a {@link ForkJoinPool} with a single thread.
+ * The comparator is shared by all tasks and must be thread-safe, as the comparators shipped with JSONassert are.  A
+ * pair that is not valid JSON fails with the parser's message instead of aborting the batch.
+ * <p>
+ * On Java 21 and later, {@link #virtualThreads()} runs every comparison in its own virtual thread instead, so that
+ * the number of comparisons under way is not limited by the size of a pool of platform threads.
+ */
+public final class JSONBatchCompare {
+    /**
+     * The number of pairs compared by one task.
+     */
+    public static final int PAIRS_PER_TASK = 32;
+
+    /**
+     * The number of comparisons that are under way at once on {@link #virtualThreads()}.
+     */
+    public static final int MAX_VIRTUAL_THREADS = 10000;
+
+    private static final int TASKS_PER_PROCESSOR = 4;
+
+    private JSONBatchCompare() {
+    }
+
+    /**
+     * Compares every pair using provided comparator on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param pairs      the pairs to compare
+     * @param comparator Comparator to use
+     * @return the failed pairs
+     */
+    public static JSONBatchResult compareJSON(Iterable<JSONComparePair> pairs, JSONComparator comparator) {
+        return compareJSON(pairs.iterator(), comparator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compares every pair on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param pairs the pairs to compare
+     * @param mode  Defines comparison behavior
+     * @return the failed pairs
+     */
+    public static JSONBatchResult compareJSON(Iterable<JSONComparePair> pairs, JSONCompareMode mode) {
+        return compareJSON(pairs.iterator(), mode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compares every pair using provided comparator on provided executor.
+     *
+     * @param pairs      the pairs to compare
+     * @param comparator Comparator to use
+     * @param executor   runs the comparisons
+     * @return the failed pairs
+     */
+    public static JSONBatchResult compareJSON(Iterator<JSONComparePair> pairs, JSONComparator comparator,
+                                              Executor executor) {
+        return compare(pairs, pair -> JSONCompare.compareJSON(pair.getExpected(), pair.getActual(), comparator),
+                executor);
+    }
+
+    /**
+     * Compares every pair on provided executor.  Expected strings are looked up in the
+     * {@linkplain JSONCompare#setParsedExpectedCache(ParsedJSONCache) cache of parsed expected documents}, if one is
+     * installed.
+     *
+     * @param pairs    the pairs to compare
+     * @param mode     Defines comparison behavior
+     * @param executor runs the comparisons
+     * @return the failed pairs
+     */
+    public static JSONBatchResult compareJSON(Iterator<JSONComparePair> pairs, JSONCompareMode mode,
+                                              Executor executor) {
+        return compare(pairs, pair -> JSONCompare.compareJSON(pair.getExpected(), pair.getActual(), mode), executor);
+    }
+
+    /**
+     * Returns an executor that runs every comparison of a batch in its own virtual thread, with up to
+     * {@value #MAX_VIRTUAL_THREADS} of them under way at once.  It needs no shutting down.  Every comparator that
+     * ships with JSONassert can be used on it: none of them holds a monitor, which would pin the carrier thread of a
+     * virtual thread waiting for it.
+     *
+     * @return an executor to pass to {@link #compareJSON(Iterator, JSONComparator, Executor)} or
+     *         {@link JSONAssert#assertAllEquals(Iterable, JSONComparator, Executor)}
+     * @throws UnsupportedOperationException if the runtime is older than Java 21
+     */
+    public static Executor virtualThreads() {
+        Executor executor = Platform.virtualThreadExecutor();
+        if (executor == null) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or later, but this is Java "
+                    + System.getProperty("java.specification.version"));
+        }
+        return new VirtualThreads(executor);
+    }
+
+    private static JSONBatchResult compare(Iterator<JSONComparePair> pairs, Comparison comparison,
+                                           Executor executor) {
+        int pairsPerTask = PAIRS_PER_TASK;
+        int maxWaiting = TASKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+        if (executor instanceof VirtualThreads) {
+            pairsPerTask = 1;
+            maxWaiting = MAX_VIRTUAL_THREADS;
+        }
+        Batch batch = new Batch(comparison, maxWaiting);
+        int compared = 0;
+        try {
+            while (pairs.hasNext() && !batch.stopped()) {
+                List<JSONComparePair> chunk = new ArrayList<JSONComparePair>(pairsPerTask);
+                while (chunk.size() < pairsPerTask && pairs.hasNext()) {
+                    chunk.add(pairs.next());
+                }
+                int first = compared;
+                compared += chunk.size();
+                if (batch.waiting.tryAcquire()) {
+                    Task task = new Task(batch, first, chunk);
+                    batch.pending.add(task);
+                    executor.execute(task);
+                } else {
+                    // The tasks under way may be queued behind this very thread, so compare instead of waiting
+                    batch.compare(first, chunk);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            batch.stop(e);
+        }
+        batch.finish();
+        List<JSONBatchResult.Failure> failures = new ArrayList<JSONBatchResult.Failure>(batch.failures);
+        failures.sort(Comparator.comparingInt(JSONBatchResult.Failure::getIndex));
+        return new JSONBatchResult(compared, failures);
+    }
+
+    private static List<JSONBatchResult.Failure> compareChunk(int first, List<JSONComparePair> chunk,
+                                                              Comparison comparison) {
+        List<JSONBatchResult.Failure> failures = null;
+        for (int i = 0; i < chunk.size(); i++) {
+            JSONComparePair pair = chunk.get(i);
+            JSONCompareResult result;
+            try {
+                result = comparison.compare(pair);
+            } catch (JSONException e) {
+                result = new JSONCompareResult();
+                result.fail(e.getMessage());
+            }
+            if (result.failed()) {
+                if (failures == null) {
+                    failures = new ArrayList<JSONBatchResult.Failure>();
+                }
+                failures.add(new JSONBatchResult.Failure(first + i, pair, result));
+            }
+        }
+        return failures != null ? failures : Collections.<JSONBatchResult.Failure>emptyList();
+    }
+
+    private interface Comparison {
+        JSONCompareResult compare(JSONComparePair pair);
+    }
+
+    /**
+     * The state shared by the tasks of one batch.  Tasks hand their failures over as they complete and forget
+     * about them, so that only the tasks that have not started yet are remembered.
+     */
+    private static final class Batch {
+        private final Comparison comparison;
+        private final int maxWaiting;
+        private final Semaphore waiting;
+        private final Set<Task> pending = ConcurrentHashMap.newKeySet();
+        private final Queue<JSONBatchResult.Failure> failures = new ConcurrentLinkedQueue<JSONBatchResult.Failure>();
+        private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+        Batch(Comparison comparison, int maxWaiting) {
+            this.comparison = comparison;
+            this.maxWaiting = maxWaiting;
+            this.waiting = new Semaphore(maxWaiting);
+        }
+
+        void compare(int first, List<JSONComparePair> chunk) {
+            if (stopped()) {
+                return;
+            }
+            try {
+                failures.addAll(compareChunk(first, chunk, comparison));
+            } catch (RuntimeException | Error e) {
+                stop(e);
+            }
+        }
+
+        boolean stopped() {
+            return error.get() != null;
+        }
+
+        void stop(Throwable e) {
+            error.compareAndSet(null, e);
+        }
+
+        /**
+         * Runs the tasks that no thread of the executor has started, waits for the ones under way, and rethrows
+         * the first exception thrown by a comparison.
+         */
+        void finish() {
+            for (Task task : pending) {
+                task.run();
+            }
+            try {
+                waiting.acquire(maxWaiting);
+            } catch (InterruptedException e) {
+                stop(e);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while comparing a batch of JSON documents", e);
+            }
+            Throwable e = error.get();
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            } else if (e instanceof Error) {
+                throw (Error) e;
+            }
+        }
+    }
+
+    /**
+     * Compares a chunk of pairs, either on the executor or on the thread finishing the batch, whichever claims it
+     * first.
+     */
+    private static final class Task implements Runnable {
+        private final Batch batch;
+        private final int first;
+        private final List<JSONComparePair> chunk;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Task(Batch batch, int first, List<JSONComparePair> chunk) {
+            this.batch = batch;
+            this.first = first;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            batch.pending.remove(this);
+            try {
+                batch.compare(first, chunk);
+            } finally {
+                batch.waiting.release();
+            }
+        }
+    }
+
+    /**
+     * Starts a virtual thread per task.  Marks the executor so that batches hand it one pair per task.
+     */
+    private static final class VirtualThreads implements Executor {
+        private final Executor executor;
+
+        VirtualThreads(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            executor.execute(task);
+        }
+    }
+}
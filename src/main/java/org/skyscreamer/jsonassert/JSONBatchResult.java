@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of comparing a batch of {@linkplain JSONComparePair pairs} with {@link JSONBatchCompare}: how many pairs
+ * were compared, and the {@link JSONCompareResult} of each pair that failed, in the order of the pairs.
+ */
+public final class JSONBatchResult {
+    /**
+     * The number of failures spelled out by {@link #getMessage()}.  All of them are available from
+     * {@link #getFailures()}.
+     */
+    public static final int MAX_REPORTED_FAILURES = 100;
+
+    private final int compared;
+    private final List<Failure> failures;
+
+    JSONBatchResult(int compared, List<Failure> failures) {
+        this.compared = compared;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return the number of pairs that were compared
+     */
+    public int getCompared() {
+        return compared;
+    }
+
+    /**
+     * @return the pairs that failed, in the order in which they were given
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Did every pair pass?
+     * @return True if no pair failed
+     */
+    public boolean passed() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Did any pair fail?
+     * @return True if at least one pair failed
+     */
+    public boolean failed() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * Result message
+     * @return the number of failed pairs and, for the first {@value #MAX_REPORTED_FAILURES} of them, why they
+     *         failed; empty if every pair passed
+     */
+    public String getMessage() {
+        if (passed()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(failures.size()).append(" of ").append(compared).append(" comparisons failed");
+        int reported = Math.min(failures.size(), MAX_REPORTED_FAILURES);
+        for (int i = 0; i < reported; i++) {
+            Failure failure = failures.get(i);
+            sb.append("\n\n").append(failure.describe()).append(":\n").append(failure.getResult().getMessage());
+        }
+        if (reported < failures.size()) {
+            sb.append("\n\n... and ").append(failures.size() - reported).append(" more");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+    /**
+     * A pair that failed, together with the result of its comparison.
+     */
+    public static final class Failure {
+        private final int index;
+        private final JSONComparePair pair;
+        private final JSONCompareResult result;
+
+        Failure(int index, JSONComparePair pair, JSONCompareResult result) {
+            this.index = index;
+            this.pair = pair;
+            this.result = result;
+        }
+
+        /**
+         * @return the position of the pair in the batch, counting from 0
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the pair that failed
+         */
+        public JSONComparePair getPair() {
+            return pair;
+        }
+
+        /**
+         * @return the result of comparing the pair
+         */
+        public JSONCompareResult getResult() {
+            return result;
+        }
+
+        private String describe() {
+            return pair.getName() != null ? pair.getName() : "Pair " + index;
+        }
+    }
+}
@@ -14,6 +14,11 @@
 
 package org.skyscreamer.jsonassert;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONString;
@@ -26,9 +31,45 @@ import org.skyscreamer.jsonassert.comparator.JSONComparator;
  * non-JUnit test framework)
  */
 public final class JSONCompare {
+    /**
+     * The cap of a result that records every failure.
+     */
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static volatile ParsedJSONCache parsedExpectedCache;
+
     private JSONCompare() {
     }
 
+    /**
+     * Installs a cache of parsed expected documents, or removes it when {@code cache} is null.  While installed,
+     * the string-based comparisons that take a {@link JSONCompareMode} (and the {@link JSONAssert} methods built
+     * on them) look expected strings up in the cache instead of parsing them every time.  Comparisons that take a
+     * {@link JSONComparator} always parse, since a custom comparator may keep or modify the documents it is given.
+     *
+     * @param cache the cache to use, or null to parse every expected string
+     */
+    public static void setParsedExpectedCache(ParsedJSONCache cache) {
+        parsedExpectedCache = cache;
+    }
+
+    /**
+     * @return the installed cache of parsed expected documents, or null if there is none
+     */
+    public static ParsedJSONCache getParsedExpectedCache() {
+        return parsedExpectedCache;
+    }
+
+    /**
+     * Parses an expected string, through the {@linkplain #setParsedExpectedCache(ParsedJSONCache) cache} if one is
+     * installed.  The result may be shared: it must only be read, by a comparator created for a mode, and must not
+     * end up in a {@link JSONCompareResult} handed to callers.
+     */
+    static Object parseExpected(String expectedStr) {
+        ParsedJSONCache cache = parsedExpectedCache;
+        return cache == null ? JSONParser.parseJSON(expectedStr) : cache.parse(expectedStr);
+    }
+
     private static JSONComparator getComparatorForMode(JSONCompareMode mode) {
         return new DefaultComparator(mode);
     }
@@ -43,22 +84,36 @@ public final class JSONCompare {
      * @throws IllegalArgumentException when type of expectedStr doesn't match the type of actualStr
      */
     public static JSONCompareResult compareJSON(String expectedStr, String actualStr, JSONComparator comparator) {
-        Object expected = JSONParser.parseJSON(expectedStr);
-        Object actual = JSONParser.parseJSON(actualStr);
+        return compareParsed(JSONParser.parseJSON(expectedStr), JSONParser.parseJSON(actualStr), comparator);
+    }
+
+    private static JSONCompareResult compareParsed(Object expected, Object actual, JSONComparator comparator) {
+        return compareParsed(expected, actual, comparator, UNLIMITED);
+    }
+
+    /**
+     * Compares two parsed documents of any type, recording at most {@code maxFailures} failures.  Without a cap, the
+     * comparator creates the result itself.
+     */
+    private static JSONCompareResult compareParsed(Object expected, Object actual, JSONComparator comparator,
+                                                   int maxFailures) {
+        boolean capped = maxFailures != UNLIMITED;
         if ((expected instanceof JSONObject) && (actual instanceof JSONObject)) {
-            return compareJSON((JSONObject) expected, (JSONObject) actual, comparator);
+            return capped ? compareJSON((JSONObject) expected, (JSONObject) actual, comparator, maxFailures)
+                    : compareJSON((JSONObject) expected, (JSONObject) actual, comparator);
         }
         else if ((expected instanceof JSONArray) && (actual instanceof JSONArray)) {
-            return compareJSON((JSONArray)expected, (JSONArray)actual, comparator);
+            return capped ? compareJSON((JSONArray) expected, (JSONArray) actual, comparator, maxFailures)
+                    : compareJSON((JSONArray) expected, (JSONArray) actual, comparator);
         }
         else if (expected instanceof JSONString && actual instanceof JSONString) {
             return compareJson((JSONString) expected, (JSONString) actual);
         }
         else if (expected instanceof JSONObject) {
-            return new JSONCompareResult().fail("", expected, actual);
+            return new JSONCompareResult(maxFailures).fail("", expected, actual);
         }
         else {
-            return new JSONCompareResult().fail("", expected, actual);
+            return new JSONCompareResult(maxFailures).fail("", expected, actual);
         }
     }
 
@@ -86,6 +141,60 @@ public final class JSONCompare {
         return comparator.compareJSON(expected, actual);
     }
 
+    /**
+     * Compares JSON string provided to the expected JSON string using provided comparator, stopping once
+     * {@code maxFailures} failures have been recorded.
+     * @param expectedStr Expected JSON string
+     * @param actualStr JSON string to compare
+     * @param comparator Comparator to use
+     * @param maxFailures Maximum number of failures to record before the comparison stops
+     * @return result of the comparison, {@linkplain JSONCompareResult#isTruncated() truncated} if the cap was hit
+     * @throws IllegalArgumentException when type of expectedStr doesn't match the type of actualStr, or when
+     *         maxFailures is less than 1
+     */
+    public static JSONCompareResult compareJSON(String expectedStr, String actualStr, JSONComparator comparator,
+                                                int maxFailures) {
+        if (maxFailures < 1) {
+            throw new IllegalArgumentException("maxFailures must be at least 1 but was " + maxFailures);
+        }
+        return compareParsed(JSONParser.parseJSON(expectedStr), JSONParser.parseJSON(actualStr), comparator,
+                maxFailures);
+    }
+
+    /**
+     * Compares JSON object provided to the expected JSON object using provided comparator, stopping once
+     * {@code maxFailures} failures have been recorded.
+     * @param expected expected json object
+     * @param actual actual json object
+     * @param comparator comparator to use
+     * @param maxFailures maximum number of failures to record before the comparison stops
+     * @return result of the comparison, {@linkplain JSONCompareResult#isTruncated() truncated} if the cap was hit
+     * @throws IllegalArgumentException when maxFailures is less than 1
+     */
+    public static JSONCompareResult compareJSON(JSONObject expected, JSONObject actual, JSONComparator comparator,
+                                                int maxFailures) {
+        JSONCompareResult result = new JSONCompareResult(maxFailures);
+        comparator.compareJSON("", expected, actual, result);
+        return result;
+    }
+
+    /**
+     * Compares JSON array provided to the expected JSON array using provided comparator, stopping once
+     * {@code maxFailures} failures have been recorded.
+     * @param expected expected json array
+     * @param actual actual json array
+     * @param comparator comparator to use
+     * @param maxFailures maximum number of failures to record before the comparison stops
+     * @return result of the comparison, {@linkplain JSONCompareResult#isTruncated() truncated} if the cap was hit
+     * @throws IllegalArgumentException when maxFailures is less than 1
+     */
+    public static JSONCompareResult compareJSON(JSONArray expected, JSONArray actual, JSONComparator comparator,
+                                                int maxFailures) {
+        JSONCompareResult result = new JSONCompareResult(maxFailures);
+        comparator.compareJSONArray("", expected, actual, result);
+        return result;
+    }
+
     /**
      * Compares {@link JSONString} provided to the expected {@code JSONString}, checking that the
      * {@link org.json.JSONString#toJSONString()} are equal.
@@ -113,7 +222,16 @@ public final class JSONCompare {
      * @return result of the comparison
      */
     public static JSONCompareResult compareJSON(String expectedStr, String actualStr, JSONCompareMode mode) {
-        return compareJSON(expectedStr, actualStr, getComparatorForMode(mode));
+        JSONComparator comparator = getComparatorForMode(mode);
+        if (parsedExpectedCache == null) {
+            return compareJSON(expectedStr, actualStr, comparator);
+        }
+        Object actual = JSONParser.parseJSON(actualStr);
+        if (matchesParsed(parseExpected(expectedStr), actual, comparator)) {
+            return new JSONCompareResult();
+        }
+        // Failures refer to expected values, so report them against a private copy of the cached document
+        return compareParsed(JSONParser.parseJSON(expectedStr), actual, comparator);
     }
 
     /**
@@ -141,4 +259,403 @@ public final class JSONCompare {
         return compareJSON(expected, actual, getComparatorForMode(mode));
     }
 
+    /**
+     * Checks whether the JSON string provided matches the expected JSON string using the provided comparator.  Stops
+     * at the first difference and builds no failure messages, so it is cheaper than
+     * {@link #compareJSON(String, String, JSONComparator)} when only the outcome matters.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actualStr   JSON string to compare
+     * @param comparator  Comparator to use
+     * @return true if the comparison passes
+     */
+    public static boolean matches(String expectedStr, String actualStr, JSONComparator comparator) {
+        return matchesParsed(JSONParser.parseJSON(expectedStr), JSONParser.parseJSON(actualStr), comparator);
+    }
+
+    private static boolean matchesParsed(Object expected, Object actual, JSONComparator comparator) {
+        if ((expected instanceof JSONObject) && (actual instanceof JSONObject)) {
+            return matches((JSONObject) expected, (JSONObject) actual, comparator);
+        }
+        else if ((expected instanceof JSONArray) && (actual instanceof JSONArray)) {
+            return matches((JSONArray) expected, (JSONArray) actual, comparator);
+        }
+        else if (expected instanceof JSONString && actual instanceof JSONString) {
+            return compareJson((JSONString) expected, (JSONString) actual).passed();
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the JSON object provided matches the expected JSON object using the provided comparator,
+     * stopping at the first difference.
+     *
+     * @param expected   expected json object
+     * @param actual     actual json object
+     * @param comparator comparator to use
+     * @return true if the comparison passes
+     */
+    public static boolean matches(JSONObject expected, JSONObject actual, JSONComparator comparator) {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        comparator.compareJSON("", expected, actual, result);
+        return result.passed();
+    }
+
+    /**
+     * Checks whether the JSON array provided matches the expected JSON array using the provided comparator,
+     * stopping at the first difference.
+     *
+     * @param expected   expected json array
+     * @param actual     actual json array
+     * @param comparator comparator to use
+     * @return true if the comparison passes
+     */
+    public static boolean matches(JSONArray expected, JSONArray actual, JSONComparator comparator) {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        comparator.compareJSONArray("", expected, actual, result);
+        return result.passed();
+    }
+
+    /**
+     * Checks whether the JSON string provided matches the expected JSON string, stopping at the first difference.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actualStr   JSON string to compare
+     * @param mode        Defines comparison behavior
+     * @return true if the comparison passes
+     */
+    public static boolean matches(String expectedStr, String actualStr, JSONCompareMode mode) {
+        return matchesParsed(parseExpected(expectedStr), JSONParser.parseJSON(actualStr), getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether the JSONObject provided matches the expected JSONObject, stopping at the first difference.
+     *
+     * @param expected Expected JSONObject
+     * @param actual   JSONObject to compare
+     * @param mode     Defines comparison behavior
+     * @return true if the comparison passes
+     */
+    public static boolean matches(JSONObject expected, JSONObject actual, JSONCompareMode mode) {
+        return matches(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether the JSONArray provided matches the expected JSONArray, stopping at the first difference.
+     *
+     * @param expected Expected JSONArray
+     * @param actual   JSONArray to compare
+     * @param mode     Defines comparison behavior
+     * @return true if the comparison passes
+     */
+    public static boolean matches(JSONArray expected, JSONArray actual, JSONCompareMode mode) {
+        return matches(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected} using provided comparator.
+     * The readers are not closed.
+     *
+     * @param expected   Reader supplying the expected JSON
+     * @param actual     Reader supplying the JSON to compare
+     * @param comparator Comparator to use
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(Reader expected, Reader actual, JSONComparator comparator) {
+        return compareParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected}.
+     * The readers are not closed.
+     *
+     * @param expected Reader supplying the expected JSON
+     * @param actual   Reader supplying the JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(Reader expected, Reader actual, JSONCompareMode mode) {
+        return compareJSON(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected} using provided comparator.
+     * The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected   Stream of UTF-8 encoded expected JSON
+     * @param actual     Stream of UTF-8 encoded JSON to compare
+     * @param comparator Comparator to use
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(InputStream expected, InputStream actual, JSONComparator comparator) {
+        return compareParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected}.
+     * The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual   Stream of UTF-8 encoded JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(InputStream expected, InputStream actual, JSONCompareMode mode) {
+        return compareJSON(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected} using provided comparator.
+     * The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected   UTF-8 encoded file holding the expected JSON
+     * @param actual     UTF-8 encoded file holding the JSON to compare
+     * @param comparator Comparator to use
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static JSONCompareResult compareJSON(Path expected, Path actual, JSONComparator comparator) {
+        return compareParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected}.
+     * The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual   UTF-8 encoded file holding the JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static JSONCompareResult compareJSON(Path expected, Path actual, JSONCompareMode mode) {
+        return compareJSON(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected} using provided comparator.
+     * The remaining bytes of each buffer are read as UTF-8; the buffer positions are left unchanged.
+     *
+     * @param expected   Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual     Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param comparator Comparator to use
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(ByteBuffer expected, ByteBuffer actual, JSONComparator comparator) {
+        return compareParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Parses the JSON in {@code actual} and compares it to the JSON in {@code expected}.
+     * The remaining bytes of each buffer are read as UTF-8; the buffer positions are left unchanged.
+     *
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual   Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return result of the comparison
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(ByteBuffer expected, ByteBuffer actual, JSONCompareMode mode) {
+        return compareJSON(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected} using the provided comparator,
+     * stopping at the first difference.  The readers are not closed.
+     *
+     * @param expected   Reader supplying the expected JSON
+     * @param actual     Reader supplying the JSON to compare
+     * @param comparator Comparator to use
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static boolean matches(Reader expected, Reader actual, JSONComparator comparator) {
+        return matchesParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected}, stopping at the first
+     * difference.  The readers are not closed.
+     *
+     * @param expected Reader supplying the expected JSON
+     * @param actual   Reader supplying the JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static boolean matches(Reader expected, Reader actual, JSONCompareMode mode) {
+        return matches(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected} using the provided comparator,
+     * stopping at the first difference.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected   Stream of UTF-8 encoded expected JSON
+     * @param actual     Stream of UTF-8 encoded JSON to compare
+     * @param comparator Comparator to use
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static boolean matches(InputStream expected, InputStream actual, JSONComparator comparator) {
+        return matchesParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected}, stopping at the first
+     * difference.  The streams are read as UTF-8 and are not closed.
+     *
+     * @param expected Stream of UTF-8 encoded expected JSON
+     * @param actual   Stream of UTF-8 encoded JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static boolean matches(InputStream expected, InputStream actual, JSONCompareMode mode) {
+        return matches(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected} using the provided comparator,
+     * stopping at the first difference.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected   UTF-8 encoded file holding the expected JSON
+     * @param actual     UTF-8 encoded file holding the JSON to compare
+     * @param comparator Comparator to use
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static boolean matches(Path expected, Path actual, JSONComparator comparator) {
+        return matchesParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected}, stopping at the first
+     * difference.  The files are read as UTF-8 through a buffered reader.
+     *
+     * @param expected UTF-8 encoded file holding the expected JSON
+     * @param actual   UTF-8 encoded file holding the JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     * @throws java.io.UncheckedIOException if a file cannot be read
+     */
+    public static boolean matches(Path expected, Path actual, JSONCompareMode mode) {
+        return matches(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected} using the provided comparator,
+     * stopping at the first difference.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are
+     * left unchanged.
+     *
+     * @param expected   Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual     Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param comparator Comparator to use
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static boolean matches(ByteBuffer expected, ByteBuffer actual, JSONComparator comparator) {
+        return matchesParsed(JSONParser.parseJSON(expected), JSONParser.parseJSON(actual), comparator);
+    }
+
+    /**
+     * Checks whether the JSON in {@code actual} matches the JSON in {@code expected}, stopping at the first
+     * difference.  The remaining bytes of each buffer are read as UTF-8; the buffer positions are left unchanged.
+     *
+     * @param expected Buffer whose remaining bytes hold the UTF-8 encoded expected JSON
+     * @param actual   Buffer whose remaining bytes hold the UTF-8 encoded JSON to compare
+     * @param mode     Defines comparison behavior
+     * @return true if the comparison passes
+     * @throws org.json.JSONException if either source is not valid JSON
+     */
+    public static boolean matches(ByteBuffer expected, ByteBuffer actual, JSONCompareMode mode) {
+        return matches(expected, actual, getComparatorForMode(mode));
+    }
+
+    /**
+     * Compares a JSON tree held in memory to the expected JSON string using provided comparator.  The tree is read
+     * through {@code model} as the comparison goes, without being serialized and parsed first.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actual      Tree to compare, such as a {@code Map} for {@link JSONTreeModel#JAVA_UTIL}
+     * @param model       Reads the nodes of {@code actual}
+     * @param comparator  Comparator to use
+     * @return result of the comparison
+     * @throws IllegalArgumentException if {@code actual} holds values that are not JSON values in {@code model}
+     */
+    public static JSONCompareResult compareJSON(String expectedStr, Object actual, JSONTreeModel model,
+                                                JSONComparator comparator) {
+        return compareParsed(JSONParser.parseJSON(expectedStr), JSONTreeView.of(model, actual), comparator);
+    }
+
+    /**
+     * Compares a JSON tree held in memory to the expected JSON string.  The tree is read through {@code model} as
+     * the comparison goes, without being serialized and parsed first.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actual      Tree to compare, such as a {@code Map} for {@link JSONTreeModel#JAVA_UTIL}
+     * @param model       Reads the nodes of {@code actual}
+     * @param mode        Defines comparison behavior
+     * @return result of the comparison
+     * @throws IllegalArgumentException if {@code actual} holds values that are not JSON values in {@code model}
+     */
+    public static JSONCompareResult compareJSON(String expectedStr, Object actual, JSONTreeModel model,
+                                                JSONCompareMode mode) {
+        return compareJSON(expectedStr, actual, model, getComparatorForMode(mode));
+    }
+
+    /**
+     * Compares two JSON trees held in memory using provided comparator.  Both trees are read through {@code model}
+     * as the comparison goes, without being serialized and parsed first.
+     *
+     * @param expected   Expected tree
+     * @param actual     Tree to compare
+     * @param model      Reads the nodes of both trees
+     * @param comparator Comparator to use
+     * @return result of the comparison
+     * @throws IllegalArgumentException if either tree holds values that are not JSON values in {@code model}
+     */
+    public static JSONCompareResult compareJSON(Object expected, Object actual, JSONTreeModel model,
+                                                JSONComparator comparator) {
+        return compareParsed(JSONTreeView.of(model, expected), JSONTreeView.of(model, actual), comparator);
+    }
+
+    /**
+     * Compares two JSON trees held in memory.  Both trees are read through {@code model} as the comparison goes,
+     * without being serialized and parsed first.
+     *
+     * @param expected Expected tree
+     * @param actual   Tree to compare
+     * @param model    Reads the nodes of both trees
+     * @param mode     Defines comparison behavior
+     * @return result of the comparison
+     * @throws IllegalArgumentException if either tree holds values that are not JSON values in {@code model}
+     */
+    public static JSONCompareResult compareJSON(Object expected, Object actual, JSONTreeModel model,
+                                                JSONCompareMode mode) {
+        return compareJSON(expected, actual, model, getComparatorForMode(mode));
+    }
+
+    /**
+     * Checks whether a JSON tree held in memory matches the expected JSON string, stopping at the first difference.
+     *
+     * @param expectedStr Expected JSON string
+     * @param actual      Tree to compare
+     * @param model       Reads the nodes of {@code actual}
+     * @param comparator  Comparator to use
+     * @return true if the comparison passes
+     * @throws IllegalArgumentException if {@code actual} holds values that are not JSON values in {@code model}
+     */
+    public static boolean matches(String expectedStr, Object actual, JSONTreeModel model, JSONComparator comparator) {
+        return matchesParsed(JSONParser.parseJSON(expectedStr), JSONTreeView.of(model, actual), comparator);
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+/**
+ * An expected and an actual JSON string to be compared as part of a batch, with an optional name that identifies
+ * them in the {@linkplain JSONBatchResult report}.
+ *
+ * @see JSONBatchCompare
+ */
+public final class JSONComparePair {
+    private final String name;
+    private final String expected;
+    private final String actual;
+
+    private JSONComparePair(String name, String expected, String actual) {
+        if (expected == null) {
+            throw new IllegalArgumentException("expected must not be null");
+        }
+        if (actual == null) {
+            throw new IllegalArgumentException("actual must not be null");
+        }
+        this.name = name;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Creates an unnamed pair, which the report identifies by its position in the batch.
+     *
+     * @param expected the expected JSON string
+     * @param actual   the JSON string to compare
+     * @return a new pair
+     */
+    public static JSONComparePair of(String expected, String actual) {
+        return new JSONComparePair(null, expected, actual);
+    }
+
+    /**
+     * Creates a named pair.
+     *
+     * @param name     identifies the pair in the report, such as the name of the file or test case it came from
+     * @param expected the expected JSON string
+     * @param actual   the JSON string to compare
+     * @return a new pair
+     */
+    public static JSONComparePair of(String name, String expected, String actual) {
+        return new JSONComparePair(name, expected, actual);
+    }
+
+    /**
+     * @return the name of the pair, or null if it has none
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the expected JSON string
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * @return the JSON string to compare
+     */
+    public String getActual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        return name != null ? name : expected + " / " + actual;
+    }
+}
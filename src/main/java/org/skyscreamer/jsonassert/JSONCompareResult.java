@@ -17,33 +17,136 @@ package org.skyscreamer.jsonassert;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 /**
  * Bean for holding results from JSONCompare.
+ * <p>
+ * Failures are kept as records; the message text is only built when {@link #getMessage()} or
+ * {@link #toString()} is called.
  */
 public class JSONCompareResult {
     private boolean _success;
-    private StringBuilder _message;
+    private final List<Entry> _entries = new ArrayList<Entry>();
+    private String _renderedMessage;
     private String _field;
     private Object _expected;
     private Object _actual;
     private final List<FieldComparisonFailure> _fieldFailures = new ArrayList<FieldComparisonFailure>();
     private final List<FieldComparisonFailure> _fieldMissing = new ArrayList<FieldComparisonFailure>();
     private final List<FieldComparisonFailure> _fieldUnexpected = new ArrayList<FieldComparisonFailure>();
+    private final boolean _failFast;
+    private final int _maxFailures;
+    private int _failureCount;
+    private boolean _truncated;
+    private boolean _deterministic = true;
+    private Map<Object, Object> _attachments;
 
     /**
      * Default constructor.
      */
     public JSONCompareResult() {
-        this(true, null);
+        this(false, Integer.MAX_VALUE);
     }
 
-    private JSONCompareResult(boolean success, String message) {
-        _success = success;
-        _message = new StringBuilder(message == null ? "" : message);
+    /**
+     * Creates a result that records at most {@code maxFailures} failures.  Once the cap is reached, further
+     * failures are dropped, comparators are asked to {@linkplain #shouldStop() stop}, and the result is marked
+     * as {@linkplain #isTruncated() truncated}.
+     *
+     * @param maxFailures the maximum number of failures to record, at least 1
+     * @throws IllegalArgumentException if {@code maxFailures} is less than 1
+     */
+    public JSONCompareResult(int maxFailures) {
+        this(false, maxFailures);
+        if (maxFailures < 1) {
+            throw new IllegalArgumentException("maxFailures must be at least 1 but was " + maxFailures);
+        }
+    }
+
+    private JSONCompareResult(boolean failFast, int maxFailures) {
+        _success = true;
+        _failFast = failFast;
+        _maxFailures = maxFailures;
+    }
+
+    /**
+     * Creates a result that only tracks whether the comparison passed.  It keeps no message and no field
+     * failures, and asks comparators to {@linkplain #shouldStop() stop} as soon as the first failure is recorded.
+     * Use it when only {@link #passed()} matters.
+     *
+     * @return a new, passing, fail-fast result
+     */
+    public static JSONCompareResult failFast() {
+        return new JSONCompareResult(true, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Is this a {@linkplain #failFast() fail-fast} result?
+     * @return True if failure details are not recorded
+     */
+    public boolean isFailFast() {
+        return _failFast;
+    }
+
+    /**
+     * Must failures be reported in the same order on every run?  Comparators then visit the keys of each object in
+     * sorted order.  Otherwise they may visit keys in whatever order the objects hold them, which saves sorting
+     * every object.  A {@linkplain #failFast() fail-fast} result records no failures, so it is never deterministic.
+     * @return True if failures are reported in a deterministic order
+     */
+    public boolean isDeterministic() {
+        return _deterministic && !_failFast;
+    }
+
+    /**
+     * Sets whether failures must be reported in a deterministic order, which they are by default.
+     * @param deterministic false to let comparators visit object keys in any order
+     * @return this result
+     * @see #isDeterministic()
+     */
+    public JSONCompareResult setDeterministic(boolean deterministic) {
+        _deterministic = deterministic;
+        return this;
+    }
+
+    /**
+     * Maximum number of failures this result records.
+     * @return the failure cap, or {@link Integer#MAX_VALUE} if there is none
+     */
+    public int getMaxFailures() {
+        return _maxFailures;
+    }
+
+    /**
+     * Is the outcome already settled, so that comparators can skip the rest of the comparison?  A capped result
+     * that has reached its {@linkplain #getMaxFailures() cap} marks itself as truncated when asked.
+     * @return True if this is a fail-fast result that has failed, or the failure cap has been reached
+     */
+    public boolean shouldStop() {
+        if (_success) {
+            return false;
+        }
+        if (_failFast) {
+            return true;
+        }
+        if (_failureCount >= _maxFailures) {
+            truncate();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Was the comparison cut short because the {@linkplain #getMaxFailures() failure cap} was reached?
+     * @return True if failures were dropped or comparators stopped early
+     */
+    public boolean isTruncated() {
+        return _truncated;
     }
 
     /**
@@ -67,7 +170,10 @@ public class JSONCompareResult {
      * @return String explaining why if the comparison failed
      */
     public String getMessage() {
-        return _message.toString();
+        if (_renderedMessage == null) {
+            _renderedMessage = render();
+        }
+        return _renderedMessage;
     }
 
     /**
@@ -157,11 +263,8 @@ public class JSONCompareResult {
     }
     
     public void fail(String message) {
-        _success = false;
-        if (_message.length() == 0) {
-            _message.append(message);
-        } else {
-            _message.append(" ; ").append(message);
+        if (admit()) {
+            record(Kind.MESSAGE, message, null);
         }
     }
 
@@ -173,11 +276,15 @@ public class JSONCompareResult {
      * @return result of comparision
      */
     public JSONCompareResult fail(String field, Object expected, Object actual) {
-        _fieldFailures.add(new FieldComparisonFailure(field, expected, actual));
+        if (!admit()) {
+            return this;
+        }
+        FieldComparisonFailure failure = new FieldComparisonFailure(field, expected, actual);
+        _fieldFailures.add(failure);
         this._field = field;
         this._expected = expected;
         this._actual = actual;
-        fail(formatFailureMessage(field, expected, actual));
+        record(Kind.FAILURE, null, failure);
         return this;
     }
 
@@ -192,13 +299,13 @@ public class JSONCompareResult {
         return this;
     }
 
-    private String formatFailureMessage(String field, Object expected, Object actual) {
-        return field
-                + "\nExpected: "
-                + describe(expected)
-                + "\n     got: "
-                + describe(actual)
-                + "\n";
+    private static void formatFailureMessage(StringBuilder sb, String field, Object expected, Object actual) {
+        sb.append(field)
+                .append("\nExpected: ")
+                .append(describe(expected))
+                .append("\n     got: ")
+                .append(describe(actual))
+                .append("\n");
     }
 
     /**
@@ -208,16 +315,20 @@ public class JSONCompareResult {
      * @return result of comparison
      */
     public JSONCompareResult missing(String field, Object expected) {
-    	_fieldMissing.add(new FieldComparisonFailure(field, expected, null));
-        fail(formatMissing(field, expected));
+        if (!admit()) {
+            return this;
+        }
+        FieldComparisonFailure failure = new FieldComparisonFailure(field, expected, null);
+        _fieldMissing.add(failure);
+        record(Kind.MISSING, null, failure);
         return this;
     }
 
-    private String formatMissing(String field, Object expected) {
-        return field
-                + "\nExpected: "
-                + describe(expected)
-                + "\n     but none found\n";
+    private static void formatMissing(StringBuilder sb, String field, Object expected) {
+        sb.append(field)
+                .append("\nExpected: ")
+                .append(describe(expected))
+                .append("\n     but none found\n");
     }
 
     /**
@@ -227,16 +338,20 @@ public class JSONCompareResult {
      * @return result of comparison
      */
     public JSONCompareResult unexpected(String field, Object actual) {
-    	_fieldUnexpected.add(new FieldComparisonFailure(field, null, actual));
-        fail(formatUnexpected(field, actual));
+        if (!admit()) {
+            return this;
+        }
+        FieldComparisonFailure failure = new FieldComparisonFailure(field, null, actual);
+        _fieldUnexpected.add(failure);
+        record(Kind.UNEXPECTED, null, failure);
         return this;
     }
 
-    private String formatUnexpected(String field, Object actual) {
-        return field
-                + "\nUnexpected: "
-                + describe(actual)
-                + "\n";
+    private static void formatUnexpected(StringBuilder sb, String field, Object actual) {
+        sb.append(field)
+                .append("\nUnexpected: ")
+                .append(describe(actual))
+                .append("\n");
     }
 
     private static String describe(Object value) {
@@ -249,8 +364,174 @@ public class JSONCompareResult {
         }
     }
 
+    /**
+     * Creates an empty result with the same settings as this one, for part of a comparison that is carried out on
+     * its own, such as on another thread.  It records at most as many failures as this result still has room for.
+     * Its failures are added back with {@link #absorb(JSONCompareResult)}.
+     * @return a new, passing result
+     */
+    public JSONCompareResult fork() {
+        JSONCompareResult part = new JSONCompareResult(_failFast,
+                _failFast ? _maxFailures : Math.max(1, _maxFailures - _failureCount));
+        part._deterministic = _deterministic;
+        part._attachments = sharedAttachments();
+        return part;
+    }
+
+    /**
+     * Creates a {@linkplain #failFast() fail-fast} result for a trial comparison made on behalf of this one, such as
+     * whether two array elements match.  Its outcome is used to decide what to compare next; its failures are not
+     * absorbed.
+     * @return a new, passing, fail-fast result
+     */
+    public JSONCompareResult trial() {
+        JSONCompareResult trial = failFast();
+        trial._attachments = sharedAttachments();
+        return trial;
+    }
+
+    /**
+     * Returns what {@code owner}, usually a comparator, has {@linkplain #attach(Object, Object) attached} to the
+     * comparison this result belongs to.  {@linkplain #fork() Forks} and {@linkplain #trial() trials} share the
+     * attachments of the result they were created from, so a comparator can keep state for the whole of a comparison
+     * even when parts of it are compared on other threads.
+     * @param owner the owner of the attachment
+     * @return the attachment, or {@code null} if there is none
+     */
+    public Object getAttachment(Object owner) {
+        return _attachments == null ? null : _attachments.get(owner);
+    }
+
+    /**
+     * Attaches state to the comparison this result belongs to, for {@link #getAttachment(Object)}.
+     * @param owner      the owner of the attachment, usually a comparator
+     * @param attachment the attachment, or {@code null} to remove it
+     */
+    public void attach(Object owner, Object attachment) {
+        if (attachment == null) {
+            if (_attachments != null) {
+                _attachments.remove(owner);
+            }
+        } else {
+            sharedAttachments().put(owner, attachment);
+        }
+    }
+
+    private Map<Object, Object> sharedAttachments() {
+        if (_attachments == null) {
+            _attachments = new ConcurrentHashMap<Object, Object>();
+        }
+        return _attachments;
+    }
+
+    /**
+     * Records the failures of {@code other} into this result, in order and subject to this result's own cap.
+     * Absorbing the {@linkplain #fork() forked} results of the parts of a comparison in the order the parts come in
+     * gives the same result as comparing them one after the other.
+     * @param other the result of part of the comparison
+     */
+    public void absorb(JSONCompareResult other) {
+        if (other.passed()) {
+            return;
+        }
+        _success = false;
+        for (Entry entry : other._entries) {
+            FieldComparisonFailure failure = entry.failure;
+            switch (entry.kind) {
+                case FAILURE:
+                    fail(failure.getField(), failure.getExpected(), failure.getActual());
+                    break;
+                case MISSING:
+                    missing(failure.getField(), failure.getExpected());
+                    break;
+                case UNEXPECTED:
+                    unexpected(failure.getField(), failure.getActual());
+                    break;
+                default:
+                    fail(entry.message);
+                    break;
+            }
+        }
+        if (other._truncated) {
+            truncate();
+        }
+    }
+
+    /**
+     * Marks the comparison as failed and decides whether the failure should be recorded.
+     */
+    private boolean admit() {
+        _success = false;
+        if (_failFast) {
+            return false;
+        }
+        if (_failureCount >= _maxFailures) {
+            truncate();
+            return false;
+        }
+        _failureCount++;
+        return true;
+    }
+
+    private void truncate() {
+        if (!_truncated) {
+            _truncated = true;
+            _renderedMessage = null;
+        }
+    }
+
+    private void record(Kind kind, String message, FieldComparisonFailure failure) {
+        _entries.add(new Entry(kind, message, failure));
+        _renderedMessage = null;
+    }
+
+    private String render() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : _entries) {
+            if (sb.length() > 0) {
+                sb.append(" ; ");
+            }
+            FieldComparisonFailure failure = entry.failure;
+            switch (entry.kind) {
+                case FAILURE:
+                    formatFailureMessage(sb, failure.getField(), failure.getExpected(), failure.getActual());
+                    break;
+                case MISSING:
+                    formatMissing(sb, failure.getField(), failure.getExpected());
+                    break;
+                case UNEXPECTED:
+                    formatUnexpected(sb, failure.getField(), failure.getActual());
+                    break;
+                default:
+                    sb.append(entry.message);
+                    break;
+            }
+        }
+        if (_truncated) {
+            sb.append(" ; Comparison stopped after ").append(_failureCount).append(" failure(s)");
+        }
+        return sb.toString();
+    }
+
     @Override
     public String toString() {
-        return _message.toString();
+        return getMessage();
+    }
+
+    private enum Kind { MESSAGE, FAILURE, MISSING, UNEXPECTED }
+
+    /**
+     * One recorded failure, kept in the order it was reported.  The text is only produced by {@link #render()}.
+     */
+    private static final class Entry {
+        private final Kind kind;
+        private final String message;
+        private final FieldComparisonFailure failure;
+
+        Entry(Kind kind, String message, FieldComparisonFailure failure) {
+            this.kind = kind;
+            this.message = message;
+            this.failure = failure;
+        }
     }
 }
@@ -14,10 +14,24 @@
 
 package org.skyscreamer.jsonassert;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONString;
+import org.json.JSONTokener;
 
 /**
  * Simple JSON parsing utility.
@@ -54,4 +68,144 @@ public class JSONParser {
         }
         throw new JSONException("Unparsable JSON string: " + s);
     }
+
+    /**
+     * Reads JSON from a {@link Reader} and returns either a {@link org.json.JSONObject} or
+     * {@link org.json.JSONArray}, without first reading the whole text into a {@code String}.  Any other
+     * JSON text is read into a string and handled as by {@link #parseJSON(String)}.  The reader is not closed.
+     *
+     * @param reader Source of the JSON text
+     * @return JSONObject, JSONArray or JSONString
+     * @throws JSONException if the text is not valid JSON, or cannot be read
+     */
+    public static Object parseJSON(final Reader reader) {
+        PushbackReader in = new PushbackReader(reader, 1);
+        try {
+            StringBuilder leading = new StringBuilder();
+            int c = in.read();
+            while (c != -1 && c <= ' ') {
+                leading.append((char) c);
+                c = in.read();
+            }
+            if (c == '{' || c == '[') {
+                in.unread(c);
+                return new JSONTokener(in).nextValue();
+            }
+            StringBuilder text = leading;
+            char[] buffer = new char[1024];
+            if (c != -1) {
+                text.append((char) c);
+                for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+                    text.append(buffer, 0, n);
+                }
+            }
+            return parseJSON(text.toString());
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON from an {@link InputStream}.  The stream is not closed.
+     *
+     * @param stream Source of the JSON text
+     * @return JSONObject, JSONArray or JSONString
+     * @throws JSONException if the text is not valid JSON, or cannot be read
+     * @see #parseJSON(Reader)
+     */
+    public static Object parseJSON(final InputStream stream) {
+        return parseJSON(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads UTF-8 encoded JSON from the remaining bytes of a {@link ByteBuffer}.  The buffer's position is left
+     * unchanged.
+     *
+     * @param buffer Source of the JSON text
+     * @return JSONObject, JSONArray or JSONString
+     * @throws JSONException if the text is not valid JSON
+     * @see #parseJSON(Reader)
+     */
+    public static Object parseJSON(final ByteBuffer buffer) {
+        return parseJSON(new ByteBufferInputStream(buffer.duplicate()));
+    }
+
+    /**
+     * Reads a UTF-8 encoded JSON file through a buffered reader.
+     *
+     * @param path JSON file
+     * @return JSONObject, JSONArray or JSONString
+     * @throws JSONException if the text is not valid JSON
+     * @throws UncheckedIOException if the file cannot be opened or read
+     * @see #parseJSON(Path, boolean)
+     */
+    public static Object parseJSON(final Path path) {
+        return parseJSON(path, false);
+    }
+
+    /**
+     * Reads a UTF-8 encoded JSON file, optionally by mapping it into memory.  Mapping avoids copying the file
+     * through a heap buffer, but on some platforms a mapped file cannot be deleted or replaced until the mapping
+     * is garbage collected.  Files too large to map in one piece are read through a buffered reader.
+     *
+     * @param path JSON file
+     * @param memoryMapped Whether to map the file into memory
+     * @return JSONObject, JSONArray or JSONString
+     * @throws JSONException if the text is not valid JSON
+     * @throws UncheckedIOException if the file cannot be opened or read
+     */
+    public static Object parseJSON(final Path path, final boolean memoryMapped) {
+        try {
+            if (memoryMapped) {
+                ByteBuffer mapped = null;
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    if (channel.size() <= Integer.MAX_VALUE) {
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    }
+                }
+                if (mapped != null) {
+                    return parseJSON(mapped);
+                }
+            }
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return parseJSON(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the remaining bytes of a buffer, advancing its position.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
 }
@@ -0,0 +1,350 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.qualify;
+
+/**
+ * Compares two JSON documents while reading them, without first parsing either into a {@link JSONObject} or
+ * {@link org.json.JSONArray} tree.  Values are compared with the same rules as
+ * {@link DefaultComparator}.
+ * <p>
+ * Objects whose keys appear in the same order in both documents are compared entry by entry.  From the first key
+ * that differs, the rest of both objects is read into memory and compared as a whole.  Under a mode with
+ * {@linkplain JSONCompareMode#hasStrictOrder() strict order}, arrays are compared element by element; otherwise
+ * each pair of arrays is read into memory, since any element may match any other.  Comparing two documents with
+ * the same key order under {@link JSONCompareMode#STRICT} or {@link JSONCompareMode#STRICT_ORDER} therefore only
+ * holds one value per level of nesting.
+ * <p>
+ * Differences from {@link JSONCompare}:
+ * <ul>
+ *     <li>Failures are reported in document order rather than key order, so a message listing several failures
+ *     may order them differently.</li>
+ *     <li>Repeated keys are only rejected in the parts of an object that had to be read into memory.</li>
+ *     <li>Top-level scalars are compared by value rather than by their JSON text.</li>
+ *     <li>Once a fail-fast or capped result {@linkplain JSONCompareResult#shouldStop() should stop}, the rest of
+ *     the input is left unread.</li>
+ * </ul>
+ * The readers and streams are not closed.
+ */
+public final class JSONStreamCompare {
+    private JSONStreamCompare() {}
+
+    /**
+     * Compares the JSON read from {@code actual} to the JSON read from {@code expected}.
+     *
+     * @param expected Source of the expected JSON
+     * @param actual Source of the JSON to compare
+     * @param mode Defines comparison behavior
+     * @return result of the comparison
+     * @throws org.json.JSONException if either document is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(Reader expected, Reader actual, JSONCompareMode mode) {
+        JSONCompareResult result = new JSONCompareResult();
+        compareJSON(expected, actual, mode, result);
+        return result;
+    }
+
+    /**
+     * Compares the UTF-8 JSON read from {@code actual} to the UTF-8 JSON read from {@code expected}.
+     *
+     * @param expected Source of the expected JSON
+     * @param actual Source of the JSON to compare
+     * @param mode Defines comparison behavior
+     * @return result of the comparison
+     * @throws org.json.JSONException if either document is not valid JSON
+     */
+    public static JSONCompareResult compareJSON(InputStream expected, InputStream actual, JSONCompareMode mode) {
+        JSONCompareResult result = new JSONCompareResult();
+        compare(new JSONTokener(expected), new JSONTokener(actual), mode, result);
+        return result;
+    }
+
+    /**
+     * Compares the JSON read from {@code actual} to the JSON read from {@code expected}, recording the outcome in
+     * {@code result}.  Pass a {@linkplain JSONCompareResult#failFast() fail-fast} or
+     * {@linkplain JSONCompareResult#JSONCompareResult(int) capped} result to stop reading early.
+     *
+     * @param expected Source of the expected JSON
+     * @param actual Source of the JSON to compare
+     * @param mode Defines comparison behavior
+     * @param result Stores the result of the comparison
+     * @throws org.json.JSONException if either document is not valid JSON
+     */
+    public static void compareJSON(Reader expected, Reader actual, JSONCompareMode mode, JSONCompareResult result) {
+        compare(new JSONTokener(expected), new JSONTokener(actual), mode, result);
+    }
+
+    /**
+     * Checks whether the JSON read from {@code actual} matches the JSON read from {@code expected}, stopping at
+     * the first difference.
+     *
+     * @param expected Source of the expected JSON
+     * @param actual Source of the JSON to compare
+     * @param mode Defines comparison behavior
+     * @return true if the documents match
+     * @throws org.json.JSONException if the documents are not valid JSON up to the first difference
+     */
+    public static boolean matches(Reader expected, Reader actual, JSONCompareMode mode) {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        compareJSON(expected, actual, mode, result);
+        return result.passed();
+    }
+
+    /**
+     * Checks whether the UTF-8 JSON read from {@code actual} matches the UTF-8 JSON read from {@code expected},
+     * stopping at the first difference.
+     *
+     * @param expected Source of the expected JSON
+     * @param actual Source of the JSON to compare
+     * @param mode Defines comparison behavior
+     * @return true if the documents match
+     * @throws org.json.JSONException if the documents are not valid JSON up to the first difference
+     */
+    public static boolean matches(InputStream expected, InputStream actual, JSONCompareMode mode) {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        compare(new JSONTokener(expected), new JSONTokener(actual), mode, result);
+        return result.passed();
+    }
+
+    static void compare(JSONTokener expected, JSONTokener actual, JSONCompareMode mode, JSONCompareResult result) {
+        new Walker(expected, actual, mode, result).compareDocuments();
+    }
+
+    /**
+     * Walks both token streams in step.  The token handling mirrors the {@code JSONObject(JSONTokener)} and
+     * {@code JSONArray(JSONTokener)} constructors, so values come out exactly as a tree parse would produce them.
+     */
+    private static final class Walker {
+        private final JSONTokener expected;
+        private final JSONTokener actual;
+        private final JSONCompareMode mode;
+        private final DefaultComparator comparator;
+        private final JSONCompareResult root;
+
+        Walker(JSONTokener expected, JSONTokener actual, JSONCompareMode mode, JSONCompareResult root) {
+            this.expected = expected;
+            this.actual = actual;
+            this.mode = mode;
+            this.comparator = new DefaultComparator(mode);
+            this.root = root;
+        }
+
+        void compareDocuments() {
+            char e = expected.nextClean();
+            char a = actual.nextClean();
+            if (e == '{' && a == '{') {
+                compareObjects("", root);
+            } else if (e == '[' && a == '[') {
+                if (mode.hasStrictOrder()) {
+                    compareArrays("", root);
+                } else {
+                    expected.back();
+                    actual.back();
+                    comparator.compareValues("", expected.nextValue(), actual.nextValue(), root);
+                }
+            } else {
+                expected.back();
+                actual.back();
+                comparator.compareValues("", expected.nextValue(), actual.nextValue(), root);
+            }
+        }
+
+        private void compareValues(String prefix, boolean inArray, JSONCompareResult result) {
+            char e = expected.nextClean();
+            char a = actual.nextClean();
+            if (e == '{' && a == '{') {
+                compareObjects(prefix, result);
+            } else if (e == '[' && a == '[' && mode.hasStrictOrder()) {
+                compareArrays(prefix, result);
+            } else {
+                expected.back();
+                actual.back();
+                Object expectedValue = inArray && e == ',' ? JSONObject.NULL : expected.nextValue();
+                Object actualValue = inArray && a == ',' ? JSONObject.NULL : actual.nextValue();
+                comparator.compareValues(prefix, expectedValue, actualValue, result);
+            }
+        }
+
+        private void compareObjects(String prefix, JSONCompareResult result) {
+            String expectedKey = nextKey(expected, true);
+            String actualKey = nextKey(actual, true);
+            while (expectedKey != null && expectedKey.equals(actualKey) && !result.shouldStop()) {
+                compareValues(qualify(prefix, expectedKey), false, result);
+                if (root.shouldStop()) {
+                    return;
+                }
+                expectedKey = nextKey(expected, false);
+                actualKey = nextKey(actual, false);
+            }
+            if (root.shouldStop()) {
+                return;
+            }
+            if (result.shouldStop()) {
+                skipEntries(expected, expectedKey);
+                skipEntries(actual, actualKey);
+            } else if (expectedKey != null || actualKey != null) {
+                // The key orders diverge: compare what is left of both objects as a whole
+                JSONObject expectedRest = readEntries(expected, expectedKey);
+                JSONObject actualRest = readEntries(actual, actualKey);
+                comparator.compareJSON(prefix, expectedRest, actualRest, result);
+            }
+        }
+
+        private void compareArrays(String prefix, JSONCompareResult result) {
+            // Element failures only count if the lengths turn out to be equal
+            JSONCompareResult elements = result.isFailFast() ? result : result.fork();
+            boolean expectedMore = firstElement(expected);
+            boolean actualMore = firstElement(actual);
+            int length = 0;
+            while (expectedMore && actualMore) {
+                if (elements.shouldStop()) {
+                    skipValue(expected, true);
+                    skipValue(actual, true);
+                } else {
+                    compareValues(prefix + "[" + length + "]", true, elements);
+                    if (root.shouldStop()) {
+                        return;
+                    }
+                }
+                length++;
+                expectedMore = nextElement(expected);
+                actualMore = nextElement(actual);
+            }
+            int expectedLength = length + skipElements(expected, expectedMore);
+            int actualLength = length + skipElements(actual, actualMore);
+            if (expectedLength != actualLength) {
+                result.fail(prefix + "[]: Expected " + expectedLength + " values but got " + actualLength);
+            } else if (elements != result) {
+                result.absorb(elements);
+            }
+        }
+
+        /**
+         * Reads the next key of an object, after its opening brace or after the previous value.
+         * @return the key, or null once the closing brace has been read
+         */
+        private static String nextKey(JSONTokener x, boolean first) {
+            if (!first) {
+                char c = x.nextClean();
+                if (c == '}') {
+                    return null;
+                }
+                if (c != ',' && c != ';') {
+                    throw x.syntaxError("Expected a ',' or '}'");
+                }
+            }
+            char c = x.nextClean();
+            if (c == 0) {
+                throw x.syntaxError("A JSONObject text must end with '}'");
+            }
+            if (c == '}') {
+                return null;
+            }
+            x.back();
+            String key = x.nextValue().toString();
+            if (x.nextClean() != ':') {
+                throw x.syntaxError("Expected a ':' after a key");
+            }
+            return key;
+        }
+
+        private static JSONObject readEntries(JSONTokener x, String key) {
+            JSONObject entries = new JSONObject();
+            while (key != null) {
+                if (entries.has(key)) {
+                    throw x.syntaxError("Duplicate key \"" + key + "\"");
+                }
+                entries.put(key, x.nextValue());
+                key = nextKey(x, false);
+            }
+            return entries;
+        }
+
+        private static void skipEntries(JSONTokener x, String key) {
+            while (key != null) {
+                skipValue(x, false);
+                key = nextKey(x, false);
+            }
+        }
+
+        /**
+         * Reads past the opening bracket of an array.
+         * @return true if the array has an element
+         */
+        private static boolean firstElement(JSONTokener x) {
+            char c = x.nextClean();
+            if (c == 0) {
+                throw x.syntaxError("A JSONArray text must end with ']'");
+            }
+            if (c == ']') {
+                return false;
+            }
+            x.back();
+            return true;
+        }
+
+        /**
+         * Reads past the separator after an array element.
+         * @return true if another element follows
+         */
+        private static boolean nextElement(JSONTokener x) {
+            switch (x.nextClean()) {
+                case ',':
+                    return firstElement(x);
+                case ']':
+                    return false;
+                case 0:
+                    throw x.syntaxError("A JSONArray text must end with ']'");
+                default:
+                    throw x.syntaxError("Expected a ',' or ']'");
+            }
+        }
+
+        private static int skipElements(JSONTokener x, boolean more) {
+            int count = 0;
+            while (more) {
+                skipValue(x, true);
+                count++;
+                more = nextElement(x);
+            }
+            return count;
+        }
+
+        /**
+         * Reads past a value without building it.  In an array, a missing value stands for null.
+         */
+        private static void skipValue(JSONTokener x, boolean inArray) {
+            char c = x.nextClean();
+            if (c == '{') {
+                skipEntries(x, nextKey(x, true));
+            } else if (c == '[') {
+                skipElements(x, firstElement(x));
+            } else {
+                x.back();
+                if (!inArray || c != ',') {
+                    x.nextValue();
+                }
+            }
+        }
+    }
+}
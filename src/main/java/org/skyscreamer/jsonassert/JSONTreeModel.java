@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import java.util.Set;
+
+/**
+ * Read access to a JSON tree held in some in-memory representation, so that it can be compared without first
+ * being serialized and parsed back into {@link org.json.JSONObject}s and {@link org.json.JSONArray}s.
+ *
+ * <p>A model only answers questions about nodes it is handed: what kind of JSON value a node is, the keys and values
+ * of an object, the length and elements of an array, and the value of a scalar.  The comparators see a tree through
+ * read-through views that ask the model lazily, so only the parts of a tree a comparison visits are read.  Values
+ * of the tree that are already {@code JSONObject}s or {@code JSONArray}s are used as they are.</p>
+ *
+ * <p>Implementations must be stateless, or at least safe to use from several threads, since a
+ * {@link org.skyscreamer.jsonassert.comparator.ParallelComparator} reads a tree concurrently.  The tree itself must
+ * not change while it is being compared.</p>
+ *
+ * @see JSONCompare#compareJSON(Object, Object, JSONTreeModel, JSONCompareMode)
+ */
+public interface JSONTreeModel {
+
+    /**
+     * The kinds of JSON value.
+     */
+    enum Kind {
+        OBJECT, ARRAY, STRING, NUMBER, BOOLEAN, NULL
+    }
+
+    /**
+     * Trees of {@link org.json.JSONObject}, {@link org.json.JSONArray} and the values org.json stores in them.
+     */
+    JSONTreeModel ORG_JSON = OrgJsonTreeModel.INSTANCE;
+
+    /**
+     * Trees of {@link java.util.Map}s with {@code String} keys, {@link java.util.List}s and arrays, with strings,
+     * characters, enums, numbers, booleans and {@code null} as values; the shape libraries such as Jackson or Gson
+     * produce when reading JSON into untyped collections.  Numbers compare the way they would after a round trip
+     * through org.json: integral values as {@code Integer}, {@code Long} or {@code BigInteger}, and finite
+     * floating-point values as {@code BigDecimal}.
+     */
+    JSONTreeModel JAVA_UTIL = JavaUtilTreeModel.INSTANCE;
+
+    /**
+     * Graphs of Java objects, read as a JSON library would write them: maps, collections and arrays as in
+     * {@link #JAVA_UTIL}, an {@link java.util.Optional} as its value or null, and any other object as a JSON object
+     * of its properties.  The properties of a record are its components; those of other classes are their public
+     * getters and public fields.  Classes of the platform without properties of interest, such as
+     * {@link java.util.UUID} or {@link java.time.LocalDate}, are strings of their {@code toString()}.  Records are
+     * recognized on Java 17 and later.  The graph must not contain cycles.
+     */
+    JSONTreeModel OBJECTS = ObjectTreeModel.INSTANCE;
+
+    /**
+     * @param node a node of the tree
+     * @return the kind of JSON value {@code node} is
+     * @throws IllegalArgumentException if {@code node} is not a JSON value in this model
+     */
+    Kind kindOf(Object node);
+
+    /**
+     * @param object a node of kind {@link Kind#OBJECT}
+     * @return the keys of {@code object}; the set must not be modified
+     */
+    Set<String> keys(Object object);
+
+    /**
+     * @param object a node of kind {@link Kind#OBJECT}
+     * @param key    the key to look up
+     * @return true if {@code object} has the key, even if its value is null
+     */
+    boolean has(Object object, String key);
+
+    /**
+     * @param object a node of kind {@link Kind#OBJECT}
+     * @param key    a key {@code object} {@linkplain #has(Object, String) has}
+     * @return the node stored under {@code key}
+     */
+    Object value(Object object, String key);
+
+    /**
+     * @param array a node of kind {@link Kind#ARRAY}
+     * @return the number of elements of {@code array}
+     */
+    int length(Object array);
+
+    /**
+     * @param array a node of kind {@link Kind#ARRAY}
+     * @param index the index of the element, from 0 to {@code length(array) - 1}
+     * @return the node at {@code index}
+     */
+    Object element(Object array, int index);
+
+    /**
+     * Called once for every array a comparison reads, before any of its elements.  A model whose arrays cannot be
+     * indexed in constant time, such as a {@link java.util.Set} or a {@link java.util.LinkedList}, returns a copy
+     * that can, which is then passed to {@link #length(Object)} and {@link #element(Object, int)} in place of
+     * {@code array}.
+     *
+     * @param array a node of kind {@link Kind#ARRAY}
+     * @return {@code array}, or a node of kind {@link Kind#ARRAY} with the same elements that can be indexed in
+     * constant time
+     */
+    default Object indexed(Object array) {
+        return array;
+    }
+
+    /**
+     * @param node a node of kind {@link Kind#STRING}, {@link Kind#NUMBER} or {@link Kind#BOOLEAN}
+     * @return the value of {@code node} as org.json would hold it: a {@code String}, a {@code Boolean}, or an
+     * {@code Integer}, {@code Long}, {@code BigInteger}, {@code BigDecimal} or {@code Double}
+     */
+    Object scalar(Object node);
+}
@@ -0,0 +1,289 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Writer;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Presents a tree read through a {@link JSONTreeModel} as {@link JSONObject}s and {@link JSONArray}s, so that the
+ * comparators can traverse it unchanged.  The views read the tree lazily and are read-only.
+ *
+ * <p>A view returns the same child view each time a child is read, as the comparators and the JSONPath queries of
+ * {@link org.skyscreamer.jsonassert.comparator.JSONPathComparator} rely on identity.  Children are memoized with
+ * atomic operations, since a {@link org.skyscreamer.jsonassert.comparator.ParallelComparator} reads a tree from
+ * several threads.</p>
+ */
+final class JSONTreeView {
+
+    private JSONTreeView() {
+    }
+
+    /**
+     * @param model the model {@code node} is read with
+     * @param node  a node of the tree
+     * @return a view of {@code node} if it is an object or an array, {@code node} itself if it is already a
+     * {@link JSONObject} or {@link JSONArray}, and otherwise its value as org.json would hold it
+     */
+    static Object of(JSONTreeModel model, Object node) {
+        if (node instanceof JSONObject || node instanceof JSONArray) {
+            return node;
+        }
+        switch (model.kindOf(node)) {
+            case OBJECT:
+                return new ObjectView(model, node);
+            case ARRAY:
+                return new ArrayView(model, node);
+            case NULL:
+                return JSONObject.NULL;
+            default:
+                return model.scalar(node);
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A view of a JSON tree is read-only");
+    }
+
+    static final class ObjectView extends JSONObject {
+        private final JSONTreeModel model;
+        private final Object node;
+        private final Set<String> keys;
+        private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<String, Object>();
+
+        ObjectView(JSONTreeModel model, Object node) {
+            this.model = model;
+            this.node = node;
+            this.keys = model.keys(node);
+        }
+
+        @Override
+        public Object opt(String key) {
+            if (key == null) {
+                return null;
+            }
+            Object value = values.get(key);
+            if (value == null && model.has(node, key)) {
+                value = of(model, model.value(node, key));
+                Object previous = values.putIfAbsent(key, value);
+                if (previous != null) {
+                    value = previous;
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public boolean has(String key) {
+            return key != null && model.has(node, key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return keys;
+        }
+
+        @Override
+        public Iterator<String> keys() {
+            return keys.iterator();
+        }
+
+        @Override
+        public int length() {
+            return keys.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        @Override
+        public JSONArray names() {
+            return keys.isEmpty() ? null : new JSONArray(keys);
+        }
+
+        @Override
+        protected Set<Map.Entry<String, Object>> entrySet() {
+            Set<Map.Entry<String, Object>> entries = new LinkedHashSet<Map.Entry<String, Object>>();
+            for (String key : keys) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<String, Object>(key, opt(key)));
+            }
+            return entries;
+        }
+
+        @Override
+        public JSONObject put(String key, Object value) {
+            throw readOnly();
+        }
+
+        @Override
+        public Object remove(String key) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+    }
+
+    static final class ArrayView extends JSONArray {
+        private final JSONTreeModel model;
+        private final Object node;
+        private final AtomicReferenceArray<Object> elements;
+
+        ArrayView(JSONTreeModel model, Object node) {
+            this.model = model;
+            this.node = model.indexed(node);
+            this.elements = new AtomicReferenceArray<Object>(model.length(this.node));
+        }
+
+        @Override
+        public Object opt(int index) {
+            if (index < 0 || index >= elements.length()) {
+                return null;
+            }
+            Object element = elements.get(index);
+            if (element == null) {
+                element = of(model, model.element(node, index));
+                if (!elements.compareAndSet(index, null, element)) {
+                    element = elements.get(index);
+                }
+            }
+            return element;
+        }
+
+        @Override
+        public int length() {
+            return elements.length();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return elements.length() == 0;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new Iterator<Object>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < elements.length();
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return opt(next++);
+                }
+
+                @Override
+                public void remove() {
+                    throw readOnly();
+                }
+            };
+        }
+
+        @Override
+        public List<Object> toList() {
+            return copy().toList();
+        }
+
+        @Override
+        public boolean similar(Object other) {
+            return copy().similar(other instanceof ArrayView ? ((ArrayView) other).copy() : other);
+        }
+
+        @Override
+        public String join(String separator) throws JSONException {
+            return copy().join(separator);
+        }
+
+        @Override
+        public Writer write(Writer writer, int indentFactor, int indent) throws JSONException {
+            return copy().write(writer, indentFactor, indent);
+        }
+
+        /**
+         * @return a plain array holding the elements of this view, for the methods of {@link JSONArray} that read
+         * its storage directly
+         */
+        private JSONArray copy() {
+            JSONArray copy = new JSONArray();
+            for (int i = 0; i < elements.length(); ++i) {
+                copy.put(opt(i));
+            }
+            return copy;
+        }
+
+        @Override
+        public JSONArray put(Object value) {
+            throw readOnly();
+        }
+
+        @Override
+        public JSONArray put(int index, Object value) {
+            throw readOnly();
+        }
+
+        @Override
+        public JSONArray putAll(Collection<?> collection) {
+            throw readOnly();
+        }
+
+        @Override
+        public JSONArray putAll(Iterable<?> iter) {
+            throw readOnly();
+        }
+
+        @Override
+        public JSONArray putAll(JSONArray array) {
+            throw readOnly();
+        }
+
+        @Override
+        public JSONArray putAll(Object array) {
+            throw readOnly();
+        }
+
+        @Override
+        public Object remove(int index) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+    }
+}
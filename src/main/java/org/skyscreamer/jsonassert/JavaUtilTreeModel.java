@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import org.json.JSONObject;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * The {@link JSONTreeModel#JAVA_UTIL} model.
+ */
+final class JavaUtilTreeModel implements JSONTreeModel {
+    static final JavaUtilTreeModel INSTANCE = new JavaUtilTreeModel();
+
+    private JavaUtilTreeModel() {
+    }
+
+    @Override
+    public Kind kindOf(Object node) {
+        if (node == null || JSONObject.NULL.equals(node)) {
+            return Kind.NULL;
+        } else if (node instanceof Map) {
+            return Kind.OBJECT;
+        } else if (node instanceof List || node.getClass().isArray()) {
+            return Kind.ARRAY;
+        } else if (node instanceof CharSequence || node instanceof Character || node instanceof Enum) {
+            return Kind.STRING;
+        } else if (node instanceof Number) {
+            return Kind.NUMBER;
+        } else if (node instanceof Boolean) {
+            return Kind.BOOLEAN;
+        }
+        throw new IllegalArgumentException("Not a JSON value: " + node.getClass().getName());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> keys(Object object) {
+        Set<?> keys = ((Map<?, ?>) object).keySet();
+        for (Object key : keys) {
+            if (!(key instanceof String)) {
+                throw new IllegalArgumentException("Object keys must be strings, found "
+                        + (key == null ? "null" : key.getClass().getName()));
+            }
+        }
+        return Collections.unmodifiableSet((Set<String>) keys);
+    }
+
+    @Override
+    public boolean has(Object object, String key) {
+        return ((Map<?, ?>) object).containsKey(key);
+    }
+
+    @Override
+    public Object value(Object object, String key) {
+        return ((Map<?, ?>) object).get(key);
+    }
+
+    @Override
+    public int length(Object array) {
+        return array instanceof List ? ((List<?>) array).size() : Array.getLength(array);
+    }
+
+    @Override
+    public Object indexed(Object array) {
+        if (array instanceof List && !(array instanceof RandomAccess)) {
+            return new ArrayList<Object>((List<?>) array);
+        }
+        return array;
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return array instanceof List ? ((List<?>) array).get(index) : Array.get(array, index);
+    }
+
+    @Override
+    public Object scalar(Object node) {
+        if (node instanceof String || node instanceof Boolean) {
+            return node;
+        } else if (node instanceof CharSequence || node instanceof Character) {
+            return node.toString();
+        } else if (node instanceof Enum) {
+            return ((Enum<?>) node).name();
+        } else if (node instanceof Number) {
+            return number((Number) node);
+        }
+        throw new IllegalArgumentException("Not a JSON scalar: " + (node == null ? "null" : node.getClass().getName()));
+    }
+
+    /**
+     * Converts {@code n} to the type org.json would parse its JSON text into, so that numbers compare the same
+     * whether they were read from a string or taken from an in-memory tree.
+     */
+    private static Object number(Number n) {
+        if (n instanceof Integer || n instanceof BigDecimal) {
+            return n;
+        } else if (n instanceof Long || n instanceof Short || n instanceof Byte) {
+            return integral(n.longValue());
+        } else if (n instanceof BigInteger) {
+            BigInteger big = (BigInteger) n;
+            return big.bitLength() < 64 ? integral(big.longValue()) : big;
+        } else if (n instanceof Double || n instanceof Float) {
+            double d = n.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d) || (d == 0 && 1 / d < 0)) {
+                return d;
+            }
+            return n instanceof Float ? new BigDecimal(n.toString()) : BigDecimal.valueOf(d);
+        }
+        BigDecimal decimal;
+        try {
+            decimal = new BigDecimal(n.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a JSON number: " + n, e);
+        }
+        return decimal.scale() <= 0 ? number(decimal.toBigIntegerExact()) : decimal;
+    }
+
+    private static Object integral(long value) {
+        return value == (int) value ? Integer.valueOf((int) value) : Long.valueOf(value);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import org.json.JSONObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The {@link JSONTreeModel#OBJECTS} model.  The properties of each class are found once and kept as method handles.
+ */
+final class ObjectTreeModel implements JSONTreeModel {
+    static final ObjectTreeModel INSTANCE = new ObjectTreeModel();
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, MethodHandle>> PROPERTIES = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return findProperties(type);
+        }
+    };
+
+    private ObjectTreeModel() {
+    }
+
+    @Override
+    public Kind kindOf(Object node) {
+        node = unwrap(node);
+        if (node == null || JSONObject.NULL.equals(node)) {
+            return Kind.NULL;
+        } else if (node instanceof Map) {
+            return Kind.OBJECT;
+        } else if (node instanceof Collection || node.getClass().isArray()) {
+            return Kind.ARRAY;
+        } else if (node instanceof Number) {
+            return Kind.NUMBER;
+        } else if (node instanceof Boolean) {
+            return Kind.BOOLEAN;
+        } else if (node instanceof CharSequence || node instanceof Character || node instanceof Enum
+                || isPlatformClass(node.getClass())) {
+            return Kind.STRING;
+        }
+        return Kind.OBJECT;
+    }
+
+    @Override
+    public Set<String> keys(Object object) {
+        object = unwrap(object);
+        if (!(object instanceof Map)) {
+            return PROPERTIES.get(object.getClass()).keySet();
+        }
+        Set<?> keys = ((Map<?, ?>) object).keySet();
+        Set<String> names = new LinkedHashSet<String>();
+        for (Object key : keys) {
+            names.add(String.valueOf(key));
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public boolean has(Object object, String key) {
+        object = unwrap(object);
+        if (!(object instanceof Map)) {
+            return PROPERTIES.get(object.getClass()).containsKey(key);
+        }
+        Map<?, ?> map = (Map<?, ?>) object;
+        return map.containsKey(key) || findKey(map, key) != null;
+    }
+
+    @Override
+    public Object value(Object object, String key) {
+        object = unwrap(object);
+        if (!(object instanceof Map)) {
+            return read(object, key, PROPERTIES.get(object.getClass()).get(key));
+        }
+        Map<?, ?> map = (Map<?, ?>) object;
+        if (map.containsKey(key)) {
+            return map.get(key);
+        }
+        Object found = findKey(map, key);
+        return found == null ? null : map.get(found);
+    }
+
+    @Override
+    public int length(Object array) {
+        array = unwrap(array);
+        return array instanceof Collection ? ((Collection<?>) array).size() : java.lang.reflect.Array.getLength(array);
+    }
+
+    @Override
+    public Object indexed(Object array) {
+        array = unwrap(array);
+        if (array instanceof Collection && !(array instanceof List && array instanceof RandomAccess)) {
+            return Arrays.asList(((Collection<?>) array).toArray());
+        }
+        return array;
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        array = unwrap(array);
+        if (array instanceof List && array instanceof RandomAccess) {
+            return ((List<?>) array).get(index);
+        } else if (array instanceof Collection) {
+            Iterator<?> elements = ((Collection<?>) array).iterator();
+            for (int i = 0; i < index; i++) {
+                elements.next();
+            }
+            return elements.next();
+        }
+        return java.lang.reflect.Array.get(array, index);
+    }
+
+    @Override
+    public Object scalar(Object node) {
+        node = unwrap(node);
+        if (node instanceof Number || node instanceof Boolean || node instanceof CharSequence
+                || node instanceof Character || node instanceof Enum) {
+            return JavaUtilTreeModel.INSTANCE.scalar(node);
+        }
+        return node.toString();
+    }
+
+    /**
+     * An empty {@link Optional} is null, and a present one is its value.
+     */
+    private static Object unwrap(Object node) {
+        return node instanceof Optional ? ((Optional<?>) node).orElse(null) : node;
+    }
+
+    /**
+     * Classes of the platform that are neither collections nor numbers, such as {@code UUID}, {@code URI} or
+     * {@code LocalDate}, have no bean properties worth comparing; they are strings, as JSON libraries write them.
+     */
+    private static boolean isPlatformClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    /**
+     * Finds a key of a map whose keys are not all strings, such as an enum or a number.
+     */
+    private static Object findKey(Map<?, ?> map, String key) {
+        for (Object candidate : map.keySet()) {
+            if (!(candidate instanceof String) && key.equals(String.valueOf(candidate))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Object read(Object object, String key, MethodHandle getter) {
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not read " + key + " of " + object.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * The properties of a record are its components, in declaration order.  The properties of any other class are
+     * its public getters, named as {@code java.beans} would name them, and its public fields, sorted by name.
+     */
+    private static Map<String, MethodHandle> findProperties(Class<?> type) {
+        Map<String, MethodHandle> properties = new LinkedHashMap<String, MethodHandle>();
+        Method[] components = Platform.recordAccessors(type);
+        if (components != null) {
+            for (Method accessor : components) {
+                properties.put(accessor.getName(), getter(accessor));
+            }
+            return Collections.unmodifiableMap(properties);
+        }
+        Map<String, MethodHandle> sorted = new TreeMap<String, MethodHandle>();
+        for (Method method : type.getMethods()) {
+            String name = propertyName(method);
+            if (name != null) {
+                sorted.put(name, getter(method));
+            }
+        }
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !sorted.containsKey(field.getName())) {
+                sorted.put(field.getName(), getter(field));
+            }
+        }
+        properties.putAll(sorted);
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static String propertyName(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterTypes().length != 0
+                || method.isBridge() || method.isSynthetic() || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        String name = method.getName();
+        Class<?> type = method.getReturnType();
+        if (name.startsWith("get") && name.length() > 3 && type != void.class) {
+            return decapitalize(name.substring(3));
+        } else if (name.startsWith("is") && name.length() > 2 && (type == boolean.class || type == Boolean.class)) {
+            return decapitalize(name.substring(2));
+        }
+        return null;
+    }
+
+    /**
+     * As {@code java.beans.Introspector.decapitalize}, which is not used as it is not in the base module.
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static MethodHandle getter(Method method) {
+        try {
+            return accessible(method).unreflect(method).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            throw inaccessible(method.getDeclaringClass(), method.getName(), e);
+        }
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            return accessible(field).unreflectGetter(field).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            throw inaccessible(field.getDeclaringClass(), field.getName(), e);
+        }
+    }
+
+    /**
+     * Public members of classes that are not public themselves, such as private nested classes of a test, can
+     * only be read once they have been made accessible.
+     */
+    private static MethodHandles.Lookup accessible(AccessibleObject member) {
+        try {
+            member.setAccessible(true);
+            return MethodHandles.lookup();
+        } catch (RuntimeException e) {
+            // Not open to us, as for classes of modules that do not open their packages; public members of public
+            // classes can still be read
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    private static IllegalArgumentException inaccessible(Class<?> type, String name, IllegalAccessException e) {
+        return new IllegalArgumentException("Cannot read " + name + " of " + type.getName(), e);
+    }
+}
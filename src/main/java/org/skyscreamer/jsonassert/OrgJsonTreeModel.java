@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Set;
+
+/**
+ * The {@link JSONTreeModel#ORG_JSON} model.
+ */
+final class OrgJsonTreeModel implements JSONTreeModel {
+    static final OrgJsonTreeModel INSTANCE = new OrgJsonTreeModel();
+
+    private OrgJsonTreeModel() {
+    }
+
+    @Override
+    public Kind kindOf(Object node) {
+        if (node == null || JSONObject.NULL.equals(node)) {
+            return Kind.NULL;
+        } else if (node instanceof JSONObject) {
+            return Kind.OBJECT;
+        } else if (node instanceof JSONArray) {
+            return Kind.ARRAY;
+        } else if (node instanceof String) {
+            return Kind.STRING;
+        } else if (node instanceof Number) {
+            return Kind.NUMBER;
+        } else if (node instanceof Boolean) {
+            return Kind.BOOLEAN;
+        }
+        throw new IllegalArgumentException("Not a JSON value: " + node.getClass().getName());
+    }
+
+    @Override
+    public Set<String> keys(Object object) {
+        return ((JSONObject) object).keySet();
+    }
+
+    @Override
+    public boolean has(Object object, String key) {
+        return ((JSONObject) object).has(key);
+    }
+
+    @Override
+    public Object value(Object object, String key) {
+        return ((JSONObject) object).opt(key);
+    }
+
+    @Override
+    public int length(Object array) {
+        return ((JSONArray) array).length();
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return ((JSONArray) array).opt(index);
+    }
+
+    @Override
+    public Object scalar(Object node) {
+        return node;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, thread-safe cache of parsed expected JSON documents, for suites that compare against the same
+ * expected strings over and over.  Install it with {@link JSONCompare#setParsedExpectedCache(ParsedJSONCache)}.
+ * <p>
+ * Entries are keyed by the expected string itself, so a lookup with the same {@code String} instance costs an
+ * identity check on top of the string's cached hash code, and an equal string costs one content comparison.  The
+ * least recently used entry is evicted once the cache is full.
+ * <p>
+ * The cache is guarded by a {@link ReentrantLock} rather than a monitor, so that virtual threads waiting for it do
+ * not pin their carrier threads.
+ * <p>
+ * Parsed documents never leave the cache: they are only read by the comparators created for a
+ * {@link JSONCompareMode}, and a {@link JSONCompareResult} that refers to expected values is always built from a
+ * fresh parse.
+ */
+public final class ParsedJSONCache {
+    private final int maxEntries;
+    private final Map<String, Object> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of parsed documents to keep, at least 1
+     * @throws IllegalArgumentException if {@code maxEntries} is less than 1
+     */
+    public ParsedJSONCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1 but was " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                if (size() > ParsedJSONCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the parsed form of {@code json}, parsing and caching it on a miss.  The returned object is shared and
+     * must not be modified or handed out.
+     */
+    Object parse(String json) {
+        lock.lock();
+        try {
+            Object parsed = entries.get(json);
+            if (parsed != null) {
+                hits++;
+                return parsed;
+            }
+            misses++;
+        } finally {
+            lock.unlock();
+        }
+        // Parse outside the lock; two threads missing on the same string both parse it and the last one wins
+        Object parsed = JSONParser.parseJSON(json);
+        lock.lock();
+        try {
+            entries.put(json, parsed);
+        } finally {
+            lock.unlock();
+        }
+        return parsed;
+    }
+
+    /**
+     * @return the maximum number of parsed documents kept
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of parsed documents currently cached
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of lookups that found a parsed document
+     */
+    public long getHitCount() {
+        lock.lock();
+        try {
+            return hits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of lookups that had to parse the document
+     */
+    public long getMissCount() {
+        lock.lock();
+        try {
+            return misses;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of documents evicted to stay within {@link #getMaxEntries()}
+     */
+    public long getEvictionCount() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every cached document.  The statistics are kept.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "ParsedJSONCache[size=" + entries.size() + ", maxEntries=" + maxEntries + ", hits=" + hits
+                    + ", misses=" + misses + ", evictions=" + evictions + "]";
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -16,8 +16,11 @@ package org.skyscreamer.jsonassert.comparator;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.skyscreamer.jsonassert.JSONCompareResult;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
 
 import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.*;
@@ -25,10 +28,30 @@ import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.*;
 /**
  * This class provides a skeletal implementation of the {@link JSONComparator}
  * interface, to minimize the effort required to implement this interface.
- *
- *
+ * <p>
+ * The comparison keeps track of where it is with a {@link JSONComparePath}.  Every method that takes a
+ * {@code String} prefix has a {@link JSONComparePath} overload; the {@code String} one materializes nothing and
+ * simply starts a path at the prefix.  A subclass that overrides a {@code String} method without overriding its
+ * {@link JSONComparePath} overload still has its override called at every level, with the path as a
+ * {@code String}, as it was before paths were tracked.
  */
 public abstract class AbstractComparator implements JSONComparator {
+    private static final UnorderedArrayMatcher UNORDERED_ARRAY_MATCHER = new BipartiteArrayMatcher();
+
+    private static final Set<String> PREFIXED_METHODS = new HashSet<String>(Arrays.asList(
+            "compareJSON", "compareValues", "compareJSONArray",
+            "checkJsonObjectKeysActualInExpected", "checkJsonObjectKeysExpectedInActual",
+            "compareJSONArrayOfJsonObjects", "compareJSONArrayOfSimpleValues", "compareJSONArrayWithStrictOrder",
+            "recursivelyCompareJSONArray"));
+
+    private static final ClassValue<Boolean> USES_STRING_PREFIXES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return overridesStringPrefixMethod(type);
+        }
+    };
+
+    private final boolean stringPrefixes = USES_STRING_PREFIXES.get(getClass());
 
     /**
      * Default constructor
@@ -45,7 +68,7 @@ public abstract class AbstractComparator implements JSONComparator {
     @Override
     public final JSONCompareResult compareJSON(JSONObject expected, JSONObject actual) {
         JSONCompareResult result = new JSONCompareResult();
-        compareJSON("", expected, actual, result);
+        compareJSONAt(new JSONComparePath(), expected, actual, result);
         return result;
     }
 
@@ -58,7 +81,7 @@ public abstract class AbstractComparator implements JSONComparator {
     @Override
     public final JSONCompareResult compareJSON(JSONArray expected, JSONArray actual) {
         JSONCompareResult result = new JSONCompareResult();
-        compareJSONArray("", expected, actual, result);
+        compareJSONArrayAt(new JSONComparePath(), expected, actual, result);
         return result;
     }
 
@@ -69,10 +92,25 @@ public abstract class AbstractComparator implements JSONComparator {
      * @param result
      */
     protected void checkJsonObjectKeysActualInExpected(String prefix, JSONObject expected, JSONObject actual, JSONCompareResult result) {
-        Set<String> actualKeys = getKeys(actual);
+        checkJsonObjectKeysActualInExpected(new JSONComparePath(prefix), expected, actual, result);
+    }
+
+    /**
+     * Reports the keys of {@code actual} that {@code expected} does not have.
+     *
+     * @param path     the path of the objects
+     * @param expected the expected object
+     * @param actual   the actual object
+     * @param result   stores the result of the comparison
+     */
+    protected void checkJsonObjectKeysActualInExpected(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        Set<String> actualKeys = result.isDeterministic() ? getKeys(actual) : actual.keySet();
         for (String key : actualKeys) {
+            if (result.shouldStop()) {
+                return;
+            }
             if (!expected.has(key)) {
-                result.unexpected(prefix, key);
+                result.unexpected(path.toString(), key);
             }
         }
     }
@@ -85,113 +123,480 @@ public abstract class AbstractComparator implements JSONComparator {
      * @param result
      */
     protected void checkJsonObjectKeysExpectedInActual(String prefix, JSONObject expected, JSONObject actual, JSONCompareResult result) {
-        Set<String> expectedKeys = getKeys(expected);
+        checkJsonObjectKeysExpectedInActual(new JSONComparePath(prefix), expected, actual, result);
+    }
+
+    /**
+     * Compares the value of every key of {@code expected} to the value of the same key in {@code actual}, and
+     * reports the keys that {@code actual} does not have.
+     *
+     * @param path     the path of the objects
+     * @param expected the expected object
+     * @param actual   the actual object
+     * @param result   stores the result of the comparison
+     */
+    protected void checkJsonObjectKeysExpectedInActual(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        compareExpectedKeys(path, expected, actual, result);
+    }
+
+    /**
+     * Compares two objects key by key and reports the keys only one of them has, in a single sweep over the
+     * expected keys.  Each expected key is looked up once in {@code actual}; counting the keys found tells whether
+     * {@code actual} has any others, so its keys are only gone through when some of them are unexpected.
+     *
+     * @param path     the path of the objects
+     * @param expected the expected object
+     * @param actual   the actual object
+     * @param result   stores the result of the comparison
+     * @see #checkJsonObjectKeysExpectedInActual(JSONComparePath, JSONObject, JSONObject, JSONCompareResult)
+     * @see #checkJsonObjectKeysActualInExpected(JSONComparePath, JSONObject, JSONObject, JSONCompareResult)
+     */
+    protected void reconcileJsonObjectKeys(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        int shared = compareExpectedKeys(path, expected, actual, result);
+        if (shared < actual.length() && !result.shouldStop()) {
+            checkJsonObjectKeysActualInExpected(path, expected, actual, result);
+        }
+    }
+
+    /**
+     * @return the number of expected keys that {@code actual} has
+     */
+    private int compareExpectedKeys(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        Set<String> expectedKeys = result.isDeterministic() ? getExpectedKeys(expected) : expected.keySet();
+        int shared = 0;
         for (String key : expectedKeys) {
-            Object expectedValue = expected.get(key);
-            if (actual.has(key)) {
-                Object actualValue = actual.get(key);
-                compareValues(qualify(prefix, key), expectedValue, actualValue, result);
+            if (result.shouldStop()) {
+                break;
+            }
+            Object actualValue = actual.opt(key);
+            if (actualValue != null) {
+                shared++;
+                compareValuesAt(path.pushKey(key), expected.get(key), actualValue, result);
+                path.pop();
             } else {
-                result.missing(prefix, key);
+                result.missing(path.toString(), key);
             }
         }
+        return shared;
+    }
+
+    /**
+     * Returns the keys of an expected object, in the order in which they are compared when the result is
+     * {@linkplain JSONCompareResult#isDeterministic() deterministic}.  Otherwise the object's own key set is used.
+     *
+     * @param expected an expected object
+     * @return its keys, sorted
+     */
+    protected Set<String> getExpectedKeys(JSONObject expected) {
+        return getKeys(expected);
     }
 
     protected void compareJSONArrayOfJsonObjects(String key, JSONArray expected, JSONArray actual, JSONCompareResult result) {
-        String uniqueKey = findUniqueKey(expected);
+        compareJSONArrayOfJsonObjects(new JSONComparePath(key), expected, actual, result);
+    }
+
+    /**
+     * Compares two arrays of objects, pairing up the elements by a unique key if the arrays have one.
+     *
+     * @param path     the path of the arrays
+     * @param expected the expected array
+     * @param actual   the actual array
+     * @param result   stores the result of the comparison
+     */
+    protected void compareJSONArrayOfJsonObjects(JSONComparePath path, JSONArray expected, JSONArray actual, JSONCompareResult result) {
+        String uniqueKey = getExpectedUniqueKey(expected);
         if (uniqueKey == null || !isUsableAsUniqueKey(uniqueKey, actual)) {
             // An expensive last resort
-            recursivelyCompareJSONArray(key, expected, actual, result);
+            if (stringPrefixes) {
+                recursivelyCompareJSONArray(path.toString(), expected, actual, result);
+            } else {
+                recursivelyCompareJSONArray(path, expected, actual, result);
+            }
             return;
         }
-        Map<Object, JSONObject> expectedValueMap = arrayOfJsonObjectToMap(expected, uniqueKey);
+        Map<Object, JSONObject> expectedValueMap = getExpectedObjectsByUniqueKey(expected, uniqueKey);
+        if (stringPrefixes) {
+            compareJSONArrayOfJsonObjects(path.toString(), uniqueKey, expectedValueMap, actual, result);
+        } else {
+            compareJSONArrayOfJsonObjects(path, uniqueKey, expectedValueMap, actual, result);
+        }
+    }
+
+    /**
+     * Returns the key whose values tell the objects of an expected array apart.
+     *
+     * @param expected an expected array of objects
+     * @return the unique key, or null if the objects have none
+     */
+    protected String getExpectedUniqueKey(JSONArray expected) {
+        return findUniqueKey(expected);
+    }
+
+    /**
+     * Maps the objects of an expected array by their value at its unique key.
+     *
+     * @param expected  an expected array of objects
+     * @param uniqueKey its {@linkplain #getExpectedUniqueKey(JSONArray) unique key}
+     * @return the objects by their value at {@code uniqueKey}; the map must not be modified
+     */
+    protected Map<Object, JSONObject> getExpectedObjectsByUniqueKey(JSONArray expected, String uniqueKey) {
+        return arrayOfJsonObjectToMap(expected, uniqueKey);
+    }
+
+    /**
+     * Compares an array of objects to expected objects that have already been mapped by their unique key.
+     *
+     * @param key              the path of the arrays
+     * @param uniqueKey        a key that is usable as a unique key in both arrays
+     * @param expectedValueMap the expected objects, by their value at {@code uniqueKey}
+     * @param actual           the actual array
+     * @param result           stores the result of the comparison
+     */
+    protected void compareJSONArrayOfJsonObjects(String key, String uniqueKey, Map<Object, JSONObject> expectedValueMap,
+                                                 JSONArray actual, JSONCompareResult result) {
+        compareJSONArrayOfJsonObjects(new JSONComparePath(key), uniqueKey, expectedValueMap, actual, result);
+    }
+
+    /**
+     * Compares an array of objects to expected objects that have already been mapped by their unique key.
+     *
+     * @param path             the path of the arrays
+     * @param uniqueKey        a key that is usable as a unique key in both arrays
+     * @param expectedValueMap the expected objects, by their value at {@code uniqueKey}
+     * @param actual           the actual array
+     * @param result           stores the result of the comparison
+     */
+    protected void compareJSONArrayOfJsonObjects(JSONComparePath path, String uniqueKey,
+                                                 Map<Object, JSONObject> expectedValueMap, JSONArray actual,
+                                                 JSONCompareResult result) {
         Map<Object, JSONObject> actualValueMap = arrayOfJsonObjectToMap(actual, uniqueKey);
         for (Object id : expectedValueMap.keySet()) {
+            if (result.shouldStop()) {
+                return;
+            }
             if (!actualValueMap.containsKey(id)) {
-                result.missing(formatUniqueKey(key, uniqueKey, id), expectedValueMap.get(id));
+                result.missing(formatUniqueKey(path.toString(), uniqueKey, id), expectedValueMap.get(id));
                 continue;
             }
             JSONObject expectedValue = expectedValueMap.get(id);
             JSONObject actualValue = actualValueMap.get(id);
-            compareValues(formatUniqueKey(key, uniqueKey, id), expectedValue, actualValue, result);
+            compareValuesAt(path.pushUniqueKey(uniqueKey, id), expectedValue, actualValue, result);
+            path.pop();
         }
         for (Object id : actualValueMap.keySet()) {
+            if (result.shouldStop()) {
+                return;
+            }
             if (!expectedValueMap.containsKey(id)) {
-                result.unexpected(formatUniqueKey(key, uniqueKey, id), actualValueMap.get(id));
+                result.unexpected(formatUniqueKey(path.toString(), uniqueKey, id), actualValueMap.get(id));
             }
         }
     }
 
     protected void compareJSONArrayOfSimpleValues(String key, JSONArray expected, JSONArray actual, JSONCompareResult result) {
-        Map<Object, Integer> expectedCount = JSONCompareUtil.getCardinalityMap(jsonArrayToList(expected));
-        Map<Object, Integer> actualCount = JSONCompareUtil.getCardinalityMap(jsonArrayToList(actual));
-        for (Object o : expectedCount.keySet()) {
-            if (!actualCount.containsKey(o)) {
-                result.missing(key + "[]", o);
-            } else if (!actualCount.get(o).equals(expectedCount.get(o))) {
-                result.fail(key + "[]: Expected " + expectedCount.get(o) + " occurrence(s) of " + o
-                        + " but got " + actualCount.get(o) + " occurrence(s)");
+        compareJSONArrayOfSimpleValues(new JSONComparePath(key), expected, actual, result);
+    }
+
+    /**
+     * Compares two arrays of simple values without regard to order.
+     *
+     * @param path     the path of the arrays
+     * @param expected the expected array
+     * @param actual   the actual array
+     * @param result   stores the result of the comparison
+     */
+    protected void compareJSONArrayOfSimpleValues(JSONComparePath path, JSONArray expected, JSONArray actual, JSONCompareResult result) {
+        if (stringPrefixes) {
+            Map<Object, Integer> expectedCount = JSONCompareUtil.getCardinalityMap(jsonArrayToList(expected));
+            compareJSONArrayOfSimpleValues(path.toString(), expectedCount, actual, result);
+            return;
+        }
+        Map<Object, Integer> expectedCount = getExpectedCardinality(expected);
+        if (expectedCount != null) {
+            compareJSONArrayOfSimpleValues(path, expectedCount, actual, result);
+            return;
+        }
+        SimpleValueCounts counts = new SimpleValueCounts(expected.length());
+        for (int i = 0; i < expected.length(); ++i) {
+            counts.addExpected(getObjectOrNull(expected, i), 1);
+        }
+        compareJSONArrayOfSimpleValues(path, counts, actual, result);
+    }
+
+    /**
+     * Returns the number of occurrences of each value of an expected array of simple values, if they have been
+     * counted already.
+     *
+     * @param expected an expected array of simple values
+     * @return the number of occurrences of each value, or null to count them while comparing
+     */
+    protected Map<Object, Integer> getExpectedCardinality(JSONArray expected) {
+        return null;
+    }
+
+    /**
+     * Compares an array of simple values to expected values that have already been counted.
+     *
+     * @param key           the path of the arrays
+     * @param expectedCount the number of occurrences of each expected value
+     * @param actual        the actual array
+     * @param result        stores the result of the comparison
+     */
+    protected void compareJSONArrayOfSimpleValues(String key, Map<Object, Integer> expectedCount, JSONArray actual,
+                                                  JSONCompareResult result) {
+        compareJSONArrayOfSimpleValues(new JSONComparePath(key), expectedCount, actual, result);
+    }
+
+    /**
+     * Compares an array of simple values to expected values that have already been counted.
+     *
+     * @param path          the path of the arrays
+     * @param expectedCount the number of occurrences of each expected value
+     * @param actual        the actual array
+     * @param result        stores the result of the comparison
+     */
+    protected void compareJSONArrayOfSimpleValues(JSONComparePath path, Map<Object, Integer> expectedCount,
+                                                  JSONArray actual, JSONCompareResult result) {
+        SimpleValueCounts counts = new SimpleValueCounts(expectedCount.size());
+        for (Map.Entry<Object, Integer> entry : expectedCount.entrySet()) {
+            counts.addExpected(entry.getKey(), entry.getValue());
+        }
+        compareJSONArrayOfSimpleValues(path, counts, actual, result);
+    }
+
+    /**
+     * Counts the actual values down against the expected ones, and goes through the values only if some of them
+     * do not balance out: first the expected values that are missing or occur a different number of times, then
+     * the unexpected ones, each in order of first appearance.
+     */
+    private void compareJSONArrayOfSimpleValues(JSONComparePath path, SimpleValueCounts counts, JSONArray actual,
+                                                JSONCompareResult result) {
+        for (int i = 0; i < actual.length(); ++i) {
+            counts.addActual(getObjectOrNull(actual, i));
+        }
+        if (counts.balanced()) {
+            return;
+        }
+        for (int i = 0; i < counts.size(); ++i) {
+            if (result.shouldStop()) {
+                return;
+            }
+            int expectedCount = counts.expectedCount(i);
+            int actualCount = counts.actualCount(i);
+            if (expectedCount == 0 || expectedCount == actualCount) {
+                continue;
+            }
+            Object o = counts.value(i);
+            if (actualCount == 0) {
+                result.missing(path + "[]", o);
+            } else {
+                result.fail(path + "[]: Expected " + expectedCount + " occurrence(s) of " + o
+                        + " but got " + actualCount + " occurrence(s)");
             }
         }
-        for (Object o : actualCount.keySet()) {
-            if (!expectedCount.containsKey(o)) {
-                result.unexpected(key + "[]", o);
+        for (int i = 0; i < counts.size(); ++i) {
+            if (result.shouldStop()) {
+                return;
+            }
+            if (counts.expectedCount(i) == 0) {
+                result.unexpected(path + "[]", counts.value(i));
             }
         }
     }
 
     protected void compareJSONArrayWithStrictOrder(String key, JSONArray expected, JSONArray actual, JSONCompareResult result) {
+        compareJSONArrayWithStrictOrder(new JSONComparePath(key), expected, actual, result);
+    }
+
+    /**
+     * Compares two arrays element by element.
+     *
+     * @param path     the path of the arrays
+     * @param expected the expected array
+     * @param actual   the actual array
+     * @param result   stores the result of the comparison
+     */
+    protected void compareJSONArrayWithStrictOrder(JSONComparePath path, JSONArray expected, JSONArray actual, JSONCompareResult result) {
         for (int i = 0; i < expected.length(); ++i) {
+            if (result.shouldStop()) {
+                return;
+            }
             Object expectedValue = JSONCompareUtil.getObjectOrNull(expected, i);
             Object actualValue = JSONCompareUtil.getObjectOrNull(actual, i);
-            compareValues(key + "[" + i + "]", expectedValue, actualValue, result);
+            compareValuesAt(path.pushIndex(i), expectedValue, actualValue, result);
+            path.pop();
         }
     }
 
-    // This is expensive (O(n^2) -- yuck), but may be the only resort for some cases with loose array ordering, and no
-    // easy way to uniquely identify each element.
-    // This is expensive (O(n^2) -- yuck), but may be the only resort for some cases with loose array ordering, and no
-    // easy way to uniquely identify each element.
+    /**
+     * Compares two arrays without regard to element order, by pairing up every expected element with a distinct
+     * matching actual element.  Used as a last resort when the elements cannot be matched by a unique key.
+     *
+     * @param key      the path of the arrays
+     * @param expected the expected array
+     * @param actual   the actual array
+     * @param result   stores the result of the comparison
+     * @see #getUnorderedArrayMatcher()
+     */
     protected void recursivelyCompareJSONArray(String key, JSONArray expected, JSONArray actual,
                                                JSONCompareResult result) {
-        Set<Integer> matched = new HashSet<Integer>();
-        for (int i = 0; i < expected.length(); ++i) {
-            Object expectedElement = JSONCompareUtil.getObjectOrNull(expected, i);
-            boolean matchFound = false;
-            for (int j = 0; j < actual.length(); ++j) {
-                Object actualElement = JSONCompareUtil.getObjectOrNull(actual, j);
-                if (expectedElement == actualElement) {
-                    matchFound = true;
-                    break;
-                }
-                if ((expectedElement == null && actualElement != null) || (expectedElement != null && actualElement == null)) {
-                    continue;
-                }
-                if (matched.contains(j) || !actualElement.getClass().equals(expectedElement.getClass())) {
+        recursivelyCompareJSONArray(new JSONComparePath(key), expected, actual, result);
+    }
+
+    /**
+     * Compares two arrays without regard to element order, by pairing up every expected element with a distinct
+     * matching actual element.  Used as a last resort when the elements cannot be matched by a unique key.
+     *
+     * @param path     the path of the arrays
+     * @param expected the expected array
+     * @param actual   the actual array
+     * @param result   stores the result of the comparison
+     * @see #getUnorderedArrayMatcher()
+     */
+    protected void recursivelyCompareJSONArray(JSONComparePath path, JSONArray expected, JSONArray actual,
+                                               JSONCompareResult result) {
+        final JSONFingerprinter fingerprinter = createFingerprinter();
+        final boolean onlyEqualValuesMatch = matchesOnlyEqualValues();
+        int[] matches = getUnorderedArrayMatcher().match(expected, actual, fingerprinter,
+                (expectedElement, actualElement) -> (!onlyEqualValuesMatch
+                        || fingerprinter.fingerprint(expectedElement) == fingerprinter.fingerprint(actualElement))
+                        && elementsMatch(expectedElement, actualElement, result));
+        for (int i = 0; i < matches.length; ++i) {
+            if (matches[i] == -1) {
+                result.fail(path + "[" + i + "] Could not find match for element " + getObjectOrNull(expected, i));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the engine that pairs up array elements for {@link #recursivelyCompareJSONArray}.  Override to plug in
+     * a different strategy.
+     *
+     * @return the matcher for arrays without strict ordering
+     */
+    protected UnorderedArrayMatcher getUnorderedArrayMatcher() {
+        return UNORDERED_ARRAY_MATCHER;
+    }
+
+    /**
+     * Creates the fingerprinter used while comparing one pair of arrays without strict ordering.
+     *
+     * @return a new fingerprinter
+     */
+    protected JSONFingerprinter createFingerprinter() {
+        return new JSONFingerprinter(JSONCompareMode.LENIENT);
+    }
+
+    /**
+     * Whether two values can only match if they are structurally equal, in which case candidates whose
+     * {@linkplain JSONFingerprinter fingerprints} differ are rejected without being compared.  Comparators that
+     * let differing values match (extensible modes, customizations, ...) must return false, which is the default.
+     *
+     * @return true if matching values always have equal fingerprints
+     */
+    protected boolean matchesOnlyEqualValues() {
+        return false;
+    }
+
+    /**
+     * Trial comparison of two array elements, as used when searching for a match for an expected element.
+     *
+     * @param expectedElement the expected element, {@code null} for JSON null
+     * @param actualElement   the actual element, {@code null} for JSON null
+     * @param result          the result of the comparison the trial is made for; trials are
+     *                        {@linkplain JSONCompareResult#trial() created} from it
+     * @return true if the elements match
+     */
+    protected boolean elementsMatch(Object expectedElement, Object actualElement, JSONCompareResult result) {
+        if (expectedElement == actualElement) {
+            return true;
+        }
+        if (expectedElement == null || actualElement == null) {
+            return false;
+        }
+        if (expectedElement instanceof JSONObject) {
+            if (!(actualElement instanceof JSONObject)) {
+                return false;
+            }
+            JSONCompareResult trial = result.trial();
+            compareJSONAt(new JSONComparePath(), (JSONObject) expectedElement, (JSONObject) actualElement, trial);
+            return trial.passed();
+        } else if (expectedElement instanceof JSONArray) {
+            if (!(actualElement instanceof JSONArray)) {
+                return false;
+            }
+            JSONCompareResult trial = result.trial();
+            compareJSONArrayAt(new JSONComparePath(), (JSONArray) expectedElement, (JSONArray) actualElement, trial);
+            return trial.passed();
+        }
+        return actualElement.getClass().equals(expectedElement.getClass()) && expectedElement.equals(actualElement);
+    }
+
+    /**
+     * Whether this comparator overrides a {@code String} prefix method without overriding its
+     * {@link JSONComparePath} overload, in which case the {@code String} methods are called throughout.
+     *
+     * @return true if paths are handed to this comparator as {@code String}s
+     */
+    final boolean usesStringPrefixes() {
+        return stringPrefixes;
+    }
+
+    /**
+     * Calls {@link #compareJSON(JSONComparePath, JSONObject, JSONObject, JSONCompareResult)}, or its {@code String}
+     * overload if this comparator {@linkplain #usesStringPrefixes() uses string prefixes}.
+     */
+    final void compareJSONAt(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        if (stringPrefixes) {
+            compareJSON(path.toString(), expected, actual, result);
+        } else {
+            compareJSON(path, expected, actual, result);
+        }
+    }
+
+    /**
+     * Calls {@link #compareValues(JSONComparePath, Object, Object, JSONCompareResult)}, or its {@code String}
+     * overload if this comparator {@linkplain #usesStringPrefixes() uses string prefixes}.
+     */
+    final void compareValuesAt(JSONComparePath path, Object expectedValue, Object actualValue, JSONCompareResult result) {
+        if (stringPrefixes) {
+            compareValues(path.toString(), expectedValue, actualValue, result);
+        } else {
+            compareValues(path, expectedValue, actualValue, result);
+        }
+    }
+
+    /**
+     * Calls {@link #compareJSONArray(JSONComparePath, JSONArray, JSONArray, JSONCompareResult)}, or its
+     * {@code String} overload if this comparator {@linkplain #usesStringPrefixes() uses string prefixes}.
+     */
+    final void compareJSONArrayAt(JSONComparePath path, JSONArray expected, JSONArray actual, JSONCompareResult result) {
+        if (stringPrefixes) {
+            compareJSONArray(path.toString(), expected, actual, result);
+        } else {
+            compareJSONArray(path, expected, actual, result);
+        }
+    }
+
+    private static boolean overridesStringPrefixMethod(Class<?> type) {
+        for (Class<?> c = type; c != AbstractComparator.class && c != null; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                Class<?>[] parameters = method.getParameterTypes();
+                if (method.isSynthetic() || Modifier.isStatic(method.getModifiers())
+                        || parameters.length == 0 || parameters[0] != String.class
+                        || !PREFIXED_METHODS.contains(method.getName())) {
                     continue;
                 }
-                if (expectedElement instanceof JSONObject) {
-                    if (compareJSON((JSONObject) expectedElement, (JSONObject) actualElement).passed()) {
-                        matched.add(j);
-                        matchFound = true;
-                        break;
-                    }
-                } else if (expectedElement instanceof JSONArray) {
-                    if (compareJSON((JSONArray) expectedElement, (JSONArray) actualElement).passed()) {
-                        matched.add(j);
-                        matchFound = true;
-                        break;
-                    }
-                } else if (expectedElement.equals(actualElement)) {
-                    matched.add(j);
-                    matchFound = true;
-                    break;
+                parameters = parameters.clone();
+                parameters[0] = JSONComparePath.class;
+                try {
+                    c.getDeclaredMethod(method.getName(), parameters);
+                } catch (NoSuchMethodException e) {
+                    return true;
                 }
             }
-            if (!matchFound) {
-                result.fail(key + "[" + i + "] Could not find match for element " + expectedElement);
-                return;
-            }
         }
+        return false;
     }
 }
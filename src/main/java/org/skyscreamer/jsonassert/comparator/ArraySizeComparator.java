@@ -67,9 +67,9 @@ public class ArraySizeComparator extends DefaultComparator {
 	 * exactly that number of elements.
 	 */
 	@Override
-	public void compareJSONArray(String prefix, JSONArray expected,
+	public void compareJSONArray(JSONComparePath path, JSONArray expected,
 			JSONArray actual, JSONCompareResult result) {
-		String arrayPrefix = prefix + "[]";
+		String arrayPrefix = path + "[]";
 		if (expected.length() < 1 || expected.length() > 2) {
 			result.fail(MessageFormat
 					.format("{0}: invalid expectation: expected array should contain either 1 or 2 elements but contains {1} elements",
@@ -0,0 +1,214 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+
+/**
+ * The default {@link UnorderedArrayMatcher}.  Finds a maximum bipartite matching between expected and actual
+ * elements, so an expected element never "steals" the only actual element a later expected element could match.
+ *
+ * <p>Matching runs in two phases:</p>
+ * <ol>
+ *   <li>Actual elements are bucketed by their {@linkplain JSONFingerprinter#fingerprint(Object, Object) fingerprint}
+ *       projected onto the shape (the key structure) of the expected elements.  Each expected element is first
+ *       tried against the actual elements in its bucket, which for arrays of equal or merely extended elements
+ *       pairs everything up with one comparison per element.</li>
+ *   <li>Expected elements left over are matched with augmenting paths (Kuhn's algorithm), which may re-assign
+ *       pairs made in the first phase.  Candidates from the bucket are tried first.</li>
+ * </ol>
+ *
+ * <p>Fingerprints only decide the order in which candidates are tried; whether two elements match is always
+ * decided by the {@link ElementMatcher}.</p>
+ */
+public class BipartiteArrayMatcher implements UnorderedArrayMatcher {
+    /**
+     * Expected elements with more distinct shapes than this are not bucketed and go straight to the second phase.
+     */
+    private static final int MAX_SHAPES = 16;
+
+    /**
+     * Upper bound on the number of remembered comparison outcomes, to keep memory in check for huge arrays.
+     */
+    private static final int MAX_REMEMBERED_OUTCOMES = 1 << 20;
+
+    @Override
+    public int[] match(JSONArray expected, JSONArray actual, JSONFingerprinter fingerprinter,
+                       ElementMatcher matcher) {
+        return new Matching(expected, actual, fingerprinter, matcher).run();
+    }
+
+    /**
+     * State of a single call to {@link #match(JSONArray, JSONArray, JSONFingerprinter, ElementMatcher)}.
+     */
+    private static final class Matching {
+        private final Object[] expected;
+        private final Object[] actual;
+        private final JSONFingerprinter fingerprinter;
+        private final ElementMatcher matcher;
+        private final int[] expectedToActual;
+        private final int[] actualToExpected;
+        private final List<List<Integer>> candidates;
+        private final Map<Long, Boolean> outcomes = new HashMap<Long, Boolean>();
+
+        Matching(JSONArray expectedArray, JSONArray actualArray, JSONFingerprinter fingerprinter,
+                 ElementMatcher matcher) {
+            this.expected = toArray(expectedArray);
+            this.actual = toArray(actualArray);
+            this.fingerprinter = fingerprinter;
+            this.matcher = matcher;
+            this.expectedToActual = new int[expected.length];
+            this.actualToExpected = new int[actual.length];
+            Arrays.fill(expectedToActual, -1);
+            Arrays.fill(actualToExpected, -1);
+            this.candidates = bucketCandidates();
+        }
+
+        int[] run() {
+            // Phase 1: pair each expected element with the first matching candidate sharing its fingerprint
+            for (int i = 0; i < expected.length; i++) {
+                for (int j : candidates.get(i)) {
+                    if (actualToExpected[j] == -1 && matches(i, j)) {
+                        expectedToActual[i] = j;
+                        actualToExpected[j] = i;
+                        break;
+                    }
+                }
+            }
+            // Phase 2: augmenting paths for whatever is left
+            for (int i = 0; i < expected.length; i++) {
+                if (expectedToActual[i] == -1 && !augment(i)) {
+                    // Nothing can ever be re-arranged to make room for this element, no need to look further
+                    break;
+                }
+            }
+            return expectedToActual;
+        }
+
+        private List<List<Integer>> bucketCandidates() {
+            Map<Long, Object> shapes = new LinkedHashMap<Long, Object>();
+            long[] shapeOfExpected = new long[expected.length];
+            for (int i = 0; i < expected.length; i++) {
+                shapeOfExpected[i] = fingerprinter.shape(expected[i]);
+                if (shapes.size() < MAX_SHAPES && !shapes.containsKey(shapeOfExpected[i])) {
+                    shapes.put(shapeOfExpected[i], expected[i]);
+                }
+            }
+            Map<Long, Map<Long, List<Integer>>> bucketsByShape = new HashMap<Long, Map<Long, List<Integer>>>();
+            for (Map.Entry<Long, Object> shape : shapes.entrySet()) {
+                Map<Long, List<Integer>> buckets = new HashMap<Long, List<Integer>>();
+                for (int j = 0; j < actual.length; j++) {
+                    long fingerprint = fingerprinter.fingerprint(actual[j], shape.getValue());
+                    List<Integer> bucket = buckets.get(fingerprint);
+                    if (bucket == null) {
+                        bucket = new ArrayList<Integer>();
+                        buckets.put(fingerprint, bucket);
+                    }
+                    bucket.add(j);
+                }
+                bucketsByShape.put(shape.getKey(), buckets);
+            }
+            List<List<Integer>> result = new ArrayList<List<Integer>>(expected.length);
+            for (int i = 0; i < expected.length; i++) {
+                Map<Long, List<Integer>> buckets = bucketsByShape.get(shapeOfExpected[i]);
+                List<Integer> bucket = buckets == null ? null : buckets.get(fingerprinter.fingerprint(expected[i], expected[i]));
+                result.add(bucket == null ? Collections.<Integer>emptyList() : bucket);
+            }
+            return result;
+        }
+
+        /**
+         * Looks for an augmenting path starting at unpaired expected element {@code root}, and flips it if found.
+         * Iterative depth-first search, so long paths cannot overflow the stack.
+         */
+        private boolean augment(int root) {
+            boolean[] visited = new boolean[actual.length];
+            int[] pathExpected = new int[expected.length];
+            int[] pathActual = new int[expected.length];
+            int[] cursor = new int[expected.length];
+            int depth = 0;
+            pathExpected[0] = root;
+            while (depth >= 0) {
+                int i = pathExpected[depth];
+                int j = nextCandidate(i, cursor, depth, visited);
+                if (j == -1) {
+                    depth--;
+                    continue;
+                }
+                if (!matches(i, j)) {
+                    continue;
+                }
+                visited[j] = true;
+                if (actualToExpected[j] == -1) {
+                    pathActual[depth] = j;
+                    for (int d = depth; d >= 0; d--) {
+                        expectedToActual[pathExpected[d]] = pathActual[d];
+                        actualToExpected[pathActual[d]] = pathExpected[d];
+                    }
+                    return true;
+                }
+                pathActual[depth] = j;
+                depth++;
+                pathExpected[depth] = actualToExpected[j];
+                cursor[depth] = 0;
+            }
+            return false;
+        }
+
+        /**
+         * Candidates of expected element {@code i} are the ones in its bucket, followed by every actual element.
+         */
+        private int nextCandidate(int i, int[] cursor, int depth, boolean[] visited) {
+            List<Integer> bucket = candidates.get(i);
+            int limit = bucket.size() + actual.length;
+            while (cursor[depth] < limit) {
+                int c = cursor[depth]++;
+                int j = c < bucket.size() ? bucket.get(c) : c - bucket.size();
+                if (!visited[j]) {
+                    return j;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(int i, int j) {
+            Long key = (long) i * actual.length + j;
+            Boolean outcome = outcomes.get(key);
+            if (outcome == null) {
+                outcome = matcher.matches(expected[i], actual[j]);
+                if (outcomes.size() < MAX_REMEMBERED_OUTCOMES) {
+                    outcomes.put(key, outcome);
+                }
+            }
+            return outcome;
+        }
+    }
+
+    private static Object[] toArray(JSONArray array) {
+        Object[] elements = new Object[array.length()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = JSONCompareUtil.getObjectOrNull(array, i);
+        }
+        return elements;
+    }
+}
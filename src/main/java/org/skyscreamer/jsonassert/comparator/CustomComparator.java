@@ -21,20 +21,34 @@ import org.skyscreamer.jsonassert.ValueMatcherException;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 public class CustomComparator extends DefaultComparator {
 
     private final Collection<Customization> customizations;
+    private final CustomizationTrie trie;
 
     public CustomComparator(JSONCompareMode mode,  Customization... customizations) {
-        super(mode);
+        this(mode, NumericComparison.EXACT, customizations);
+    }
+
+    /**
+     * @param mode              the mode to compare in
+     * @param numericComparison decides whether two numbers without a customization are equal
+     * @param customizations    the customizations, in the order they are tried
+     */
+    public CustomComparator(JSONCompareMode mode, NumericComparison numericComparison,
+                            Customization... customizations) {
+        super(mode, numericComparison);
         this.customizations = Arrays.asList(customizations);
+        this.trie = new CustomizationTrie(this.customizations);
     }
 
     @Override
-    public void compareValues(String prefix, Object expectedValue, Object actualValue, JSONCompareResult result) {
-        Customization customization = getCustomization(prefix);
+    public void compareValues(JSONComparePath path, Object expectedValue, Object actualValue, JSONCompareResult result) {
+        Customization customization = getCustomization(path);
         if (customization != null) {
+            String prefix = path.toString();
             try {
     	        if (!customization.matches(prefix, actualValue, expectedValue, result)) {
                     result.fail(prefix, expectedValue, actualValue);
@@ -44,14 +58,18 @@ public class CustomComparator extends DefaultComparator {
                 result.fail(prefix, e);
             }
         } else {
-            super.compareValues(prefix, expectedValue, actualValue, result);
+            super.compareValues(path, expectedValue, actualValue, result);
         }
     }
 
-    private Customization getCustomization(String path) {
-        for (Customization c : customizations)
-            if (c.appliesToPath(path))
-                return c;
-        return null;
+    /**
+     * @return the customizations, in the order they are tried
+     */
+    public Collection<Customization> getCustomizations() {
+        return Collections.unmodifiableCollection(customizations);
+    }
+
+    private Customization getCustomization(CharSequence path) {
+        return trie.find(path);
     }
 }
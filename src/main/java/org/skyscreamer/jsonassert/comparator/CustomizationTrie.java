@@ -0,0 +1,381 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.skyscreamer.jsonassert.Customization;
+
+/**
+ * Finds the first {@link Customization} that applies to a path without trying each customization's regular
+ * expression in turn.
+ * <p>
+ * Path expressions are split on {@code '.'} and compiled into a trie whose edges are literal segments, {@code *}
+ * (exactly one segment), {@code **} (any number of segments, including none) and segments with embedded wildcards
+ * such as {@code items[*]}.  A path is matched by walking the trie one segment at a time, following every edge that
+ * applies, and the nodes reached by the segments of a {@link JSONComparePath} are kept while the path descends.
+ * Expressions whose regular expression does not line up with segments, such as {@code "a.*"} (which only
+ * matches {@code "a."}) or {@code "a**b"}, are still matched with {@link Customization#appliesToPath(String)}, as are
+ * paths with empty segments.  Either way the customization declared first wins, as it always has.
+ */
+final class CustomizationTrie {
+    private static final int NONE = Integer.MAX_VALUE;
+    private static final int EMPTY_SEGMENT = -1;
+
+    private final Customization[] customizations;
+    private final Node root = new Node();
+    private final int[] unaligned;
+    private final Node[] start;
+
+    CustomizationTrie(Collection<Customization> customizations) {
+        this.customizations = customizations.toArray(new Customization[0]);
+        List<Integer> unaligned = new ArrayList<Integer>();
+        for (int i = 0; i < this.customizations.length; i++) {
+            if (!insert(this.customizations[i].getPath(), i)) {
+                unaligned.add(i);
+            }
+        }
+        this.unaligned = new int[unaligned.size()];
+        for (int i = 0; i < this.unaligned.length; i++) {
+            this.unaligned[i] = unaligned.get(i);
+        }
+        List<Node> start = new ArrayList<Node>();
+        reach(start, root);
+        this.start = start.toArray(new Node[0]);
+    }
+
+    /**
+     * Finds the first customization that applies to {@code path}.  A {@link JSONComparePath} keeps a {@link Cursor}
+     * into this trie across pushes and pops, so that only the segments pushed since the last call are matched.
+     *
+     * @param path the path of the value being compared
+     * @return the first customization that applies to {@code path}, or {@code null} if there is none
+     */
+    Customization find(CharSequence path) {
+        if (customizations.length == 0) {
+            return null;
+        }
+        Cursor cursor;
+        if (path instanceof JSONComparePath) {
+            JSONComparePath comparePath = (JSONComparePath) path;
+            cursor = comparePath.cursor;
+            if (cursor == null || cursor.trie != this) {
+                cursor = new Cursor(this);
+                comparePath.cursor = cursor;
+            }
+        } else {
+            cursor = new Cursor(this);
+        }
+        int first = cursor.first(path);
+        if (first == EMPTY_SEGMENT) {
+            first = NONE;
+            String string = path.toString();
+            for (int i = 0; i < customizations.length; i++) {
+                if (customizations[i].appliesToPath(string)) {
+                    first = i;
+                    break;
+                }
+            }
+        } else {
+            for (int i : unaligned) {
+                if (i >= first) {
+                    break;
+                }
+                if (customizations[i].appliesToPath(path.toString())) {
+                    first = i;
+                    break;
+                }
+            }
+        }
+        return first == NONE ? null : customizations[first];
+    }
+
+    private boolean insert(String expression, int index) {
+        if (expression.isEmpty() || expression.charAt(expression.length() - 1) == '*') {
+            // String.split drops the trailing empty part, so these expressions do not mean what they say
+            return false;
+        }
+        String[] segments = expression.split("\\.", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty()
+                    || (segment.contains("**") && !segment.equals("**"))) {
+                return false;
+            }
+        }
+        Node node = root;
+        for (String segment : segments) {
+            if (segment.equals("**")) {
+                if (node.anyDepth == null) {
+                    node.anyDepth = new Node();
+                    node.anyDepth.repeats = true;
+                }
+                node = node.anyDepth;
+            } else if (segment.equals("*")) {
+                if (node.any == null) {
+                    node.any = new Node();
+                }
+                node = node.any;
+            } else if (segment.indexOf('*') >= 0) {
+                node = node.glob(segment);
+            } else {
+                node = node.literal(segment);
+            }
+        }
+        node.customization = Math.min(node.customization, index);
+        return true;
+    }
+
+    /**
+     * Returns the nodes reached from {@code nodes} by matching the segment of {@code path} from {@code start} to
+     * {@code end}, including the nodes reached from those by {@code **} matching no segment at all.
+     */
+    private static Node[] step(Node[] nodes, CharSequence path, int start, int end) {
+        List<Node> next = new ArrayList<Node>();
+        for (Node node : nodes) {
+            if (node.repeats) {
+                reach(next, node);
+            }
+            Node literal = node.literals == null ? null : node.literals.get(path, start, end);
+            if (literal != null) {
+                reach(next, literal);
+            }
+            if (node.any != null) {
+                reach(next, node.any);
+            }
+            if (node.globs != null) {
+                for (Glob glob : node.globs) {
+                    if (glob.matches(path, start, end)) {
+                        reach(next, glob.node);
+                    }
+                }
+            }
+        }
+        return next.toArray(new Node[0]);
+    }
+
+    private static void reach(List<Node> nodes, Node node) {
+        if (nodes.contains(node)) {
+            return;
+        }
+        nodes.add(node);
+        if (node.anyDepth != null) {
+            // "**" may match no segment at all
+            reach(nodes, node.anyDepth);
+        }
+    }
+
+    /**
+     * The nodes reached by every complete segment of a path, that is every segment followed by a {@code '.'}, one
+     * level per segment.  Levels are matched when a path is looked up, and dropped by {@link #truncate(int)} when
+     * the {@code '.'} ending them is popped, so that each segment is matched once however many values are compared
+     * beneath it.
+     */
+    static final class Cursor {
+        private final CustomizationTrie trie;
+        private int[] ends = new int[8];
+        private Node[][] levels = new Node[8][];
+        private int size;
+
+        Cursor(CustomizationTrie trie) {
+            this.trie = trie;
+        }
+
+        /**
+         * @return the index of the first customization whose aligned expression matches {@code path}, {@link #NONE}
+         *         if there is none, or {@link #EMPTY_SEGMENT} if the path has an empty segment
+         */
+        int first(CharSequence path) {
+            int start = size == 0 ? 0 : ends[size - 1] + 1;
+            Node[] nodes = size == 0 ? trie.start : levels[size - 1];
+            for (int i = start; i < path.length(); i++) {
+                if (path.charAt(i) == '.') {
+                    // null marks an empty segment, which only regular expressions make sense of
+                    nodes = nodes == null || i == start ? null : step(nodes, path, start, i);
+                    push(i, nodes);
+                    start = i + 1;
+                }
+            }
+            if (nodes == null || start == path.length()) {
+                return EMPTY_SEGMENT;
+            }
+            int first = NONE;
+            for (Node node : step(nodes, path, start, path.length())) {
+                first = Math.min(first, node.customization);
+            }
+            return first;
+        }
+
+        /**
+         * Drops the levels of segments that are no longer complete once the path is cut back to {@code length}.
+         */
+        void truncate(int length) {
+            while (size > 0 && ends[size - 1] >= length) {
+                levels[--size] = null;
+            }
+        }
+
+        private void push(int end, Node[] nodes) {
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, size * 2);
+                levels = Arrays.copyOf(levels, size * 2);
+            }
+            ends[size] = end;
+            levels[size++] = nodes;
+        }
+    }
+
+    private static final class Node {
+        private Literals literals;
+        private List<Glob> globs;
+        private Node any;
+        private Node anyDepth;
+        private boolean repeats;
+        private int customization = NONE;
+
+        Node literal(String segment) {
+            if (literals == null) {
+                literals = new Literals();
+            }
+            return literals.getOrAdd(segment);
+        }
+
+        Node glob(String segment) {
+            if (globs == null) {
+                globs = new ArrayList<Glob>(1);
+            }
+            for (Glob glob : globs) {
+                if (glob.segment.equals(segment)) {
+                    return glob.node;
+                }
+            }
+            Glob glob = new Glob(segment);
+            globs.add(glob);
+            return glob.node;
+        }
+    }
+
+    /**
+     * Literal segments, looked up by a range of the path so that matching does not create substrings.
+     */
+    private static final class Literals {
+        private String[] keys = new String[4];
+        private Node[] nodes = new Node[4];
+        private int size;
+
+        Node get(CharSequence path, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int mask = keys.length - 1;
+            for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (matches(keys[i], path, start, end)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+
+        Node getOrAdd(String segment) {
+            Node node = get(segment, 0, segment.length());
+            if (node != null) {
+                return node;
+            }
+            if (2 * (size + 1) > keys.length) {
+                String[] oldKeys = keys;
+                Node[] oldNodes = nodes;
+                keys = new String[oldKeys.length * 2];
+                nodes = new Node[oldKeys.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != null) {
+                        put(oldKeys[i], oldNodes[i]);
+                    }
+                }
+            }
+            node = new Node();
+            put(segment, node);
+            size++;
+            return node;
+        }
+
+        private void put(String segment, Node node) {
+            int mask = keys.length - 1;
+            int i = spread(segment.hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = segment;
+            nodes[i] = node;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(String key, CharSequence path, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != path.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A segment with embedded {@code *} wildcards, each standing for one or more characters of the same segment.
+     */
+    private static final class Glob {
+        private final String segment;
+        private final String[] parts;
+        private final Node node = new Node();
+
+        Glob(String segment) {
+            this.segment = segment;
+            this.parts = segment.split("\\*", -1);
+        }
+
+        /**
+         * Whether the range of {@code path} is the parts of this glob in order, with at least one character in
+         * place of every wildcard.
+         */
+        boolean matches(CharSequence path, int start, int end) {
+            return matches(0, path, start, end);
+        }
+
+        private boolean matches(int part, CharSequence path, int start, int end) {
+            String text = parts[part];
+            if (end - start < text.length() || !Literals.matches(text, path, start, start + text.length())) {
+                return false;
+            }
+            start += text.length();
+            if (part == parts.length - 1) {
+                return start == end;
+            }
+            for (int next = start + 1; next <= end; next++) {
+                if (matches(part + 1, path, next, end)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -14,6 +14,8 @@
 
 package org.skyscreamer.jsonassert.comparator;
 
+import java.math.BigInteger;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.skyscreamer.jsonassert.JSONCompareMode;
@@ -29,58 +31,128 @@ import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.allSimpleVal
 public class DefaultComparator extends AbstractComparator {
 
     JSONCompareMode mode;
+    private final NumericComparison numericComparison;
 
     public DefaultComparator(JSONCompareMode mode) {
+        this(mode, NumericComparison.EXACT);
+    }
+
+    /**
+     * @param mode              the mode to compare in
+     * @param numericComparison decides whether two numbers are equal
+     */
+    public DefaultComparator(JSONCompareMode mode, NumericComparison numericComparison) {
+        if (numericComparison == null) {
+            throw new IllegalArgumentException("numericComparison must not be null");
+        }
         this.mode = mode;
+        this.numericComparison = numericComparison;
+    }
+
+    /**
+     * @return the mode this comparator compares in
+     */
+    public JSONCompareMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return how this comparator decides whether two numbers are equal
+     */
+    public NumericComparison getNumericComparison() {
+        return numericComparison;
     }
 
     @Override
     public void compareJSON(String prefix, JSONObject expected, JSONObject actual, JSONCompareResult result) {
-        // Check that actual contains all the expected values
-        checkJsonObjectKeysExpectedInActual(prefix, expected, actual, result);
+        compareJSON(new JSONComparePath(prefix), expected, actual, result);
+    }
 
-        // If strict, check for vice-versa
-        if (!mode.isExtensible()) {
-            checkJsonObjectKeysActualInExpected(prefix, expected, actual, result);
+    @Override
+    public void compareJSON(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        if (usesStringPrefixes()) {
+            String prefix = path.toString();
+            checkJsonObjectKeysExpectedInActual(prefix, expected, actual, result);
+            if (!mode.isExtensible() && !result.shouldStop()) {
+                checkJsonObjectKeysActualInExpected(prefix, expected, actual, result);
+            }
+            return;
+        }
+        if (mode.isExtensible()) {
+            // Check that actual contains all the expected values
+            checkJsonObjectKeysExpectedInActual(path, expected, actual, result);
+        } else {
+            // If strict, check for vice-versa in the same sweep
+            reconcileJsonObjectKeys(path, expected, actual, result);
         }
     }
 
     @Override
     public void compareValues(String prefix, Object expectedValue, Object actualValue, JSONCompareResult result) {
+        compareValues(new JSONComparePath(prefix), expectedValue, actualValue, result);
+    }
+
+    @Override
+    public void compareValues(JSONComparePath path, Object expectedValue, Object actualValue, JSONCompareResult result) {
         if (expectedValue == actualValue) {
             return;
         }
         if (expectedValue == null || actualValue == null) {
-            result.fail(prefix, expectedValue, actualValue);
+            result.fail(path.toString(), expectedValue, actualValue);
         } else if (areNumbers(expectedValue, actualValue)) {
             if (areNotSameDoubles(expectedValue, actualValue)) {
-                result.fail(prefix, expectedValue, actualValue);
+                result.fail(path.toString(), expectedValue, actualValue);
             }
+        } else if (expectedValue instanceof JSONArray && actualValue instanceof JSONArray) {
+            compareJSONArrayAt(path, (JSONArray) expectedValue, (JSONArray) actualValue, result);
+        } else if (expectedValue instanceof JSONObject && actualValue instanceof JSONObject) {
+            compareJSONAt(path, (JSONObject) expectedValue, (JSONObject) actualValue, result);
         } else if (expectedValue.getClass().isAssignableFrom(actualValue.getClass())) {
-            if (expectedValue instanceof JSONArray) {
-                compareJSONArray(prefix, (JSONArray) expectedValue, (JSONArray) actualValue, result);
-            } else if (expectedValue instanceof JSONObject) {
-                compareJSON(prefix, (JSONObject) expectedValue, (JSONObject) actualValue, result);
-            } else if (!expectedValue.equals(actualValue)) {
-                result.fail(prefix, expectedValue, actualValue);
+            if (!expectedValue.equals(actualValue)) {
+                result.fail(path.toString(), expectedValue, actualValue);
             }
         } else {
-            result.fail(prefix, expectedValue, actualValue);
+            result.fail(path.toString(), expectedValue, actualValue);
         }
     }
 
     @Override
     public void compareJSONArray(String prefix, JSONArray expected, JSONArray actual, JSONCompareResult result) {
+        compareJSONArray(new JSONComparePath(prefix), expected, actual, result);
+    }
+
+    @Override
+    public void compareJSONArray(JSONComparePath path, JSONArray expected, JSONArray actual, JSONCompareResult result) {
         if (expected.length() != actual.length()) {
-            result.fail(prefix + "[]: Expected " + expected.length() + " values but got " + actual.length());
+            result.fail(path + "[]: Expected " + expected.length() + " values but got " + actual.length());
             return;
         } else if (expected.length() == 0) {
             return; // Nothing to compare
         }
 
+        if (usesStringPrefixes()) {
+            compareJSONArrayOfValues(path.toString(), expected, actual, result);
+        } else if (mode.hasStrictOrder()) {
+            compareJSONArrayWithStrictOrder(path, expected, actual, result);
+        } else if (allSimpleValues(expected)) {
+            if (pairsUpNumbers(expected, actual)) {
+                recursivelyCompareJSONArray(path, expected, actual, result);
+            } else if (!SortedSimpleValues.sameValues(expected, actual)) {
+                // Large arrays of numbers or strings are sorted and merged; only if they differ are they counted
+                compareJSONArrayOfSimpleValues(path, expected, actual, result);
+            }
+        } else if (allJSONObjects(expected)) {
+            compareJSONArrayOfJsonObjects(path, expected, actual, result);
+        } else {
+            // An expensive last resort
+            recursivelyCompareJSONArray(path, expected, actual, result);
+        }
+    }
+
+    private void compareJSONArrayOfValues(String prefix, JSONArray expected, JSONArray actual, JSONCompareResult result) {
         if (mode.hasStrictOrder()) {
             compareJSONArrayWithStrictOrder(prefix, expected, actual, result);
-        } else if (allSimpleValues(expected)) {
+        } else if (allSimpleValues(expected) && !pairsUpNumbers(expected, actual)) {
             compareJSONArrayOfSimpleValues(prefix, expected, actual, result);
         } else if (allJSONObjects(expected)) {
             compareJSONArrayOfJsonObjects(prefix, expected, actual, result);
@@ -90,11 +162,64 @@ public class DefaultComparator extends AbstractComparator {
         }
     }
 
+    @Override
+    protected JSONFingerprinter createFingerprinter() {
+        return new JSONFingerprinter(mode);
+    }
+
+    /**
+     * Only true for a plain {@code DefaultComparator} in a non-extensible mode that compares numbers without a
+     * tolerance: subclasses may customize how values compare.
+     */
+    @Override
+    protected boolean matchesOnlyEqualValues() {
+        return !mode.isExtensible() && !numericComparison.isTolerant() && getClass() == DefaultComparator.class;
+    }
+
+    /**
+     * Compares numbers with this comparator's {@linkplain #getNumericComparison() numeric comparison} when it has
+     * a tolerance, rather than by {@code equals}.
+     */
+    @Override
+    protected boolean elementsMatch(Object expectedElement, Object actualElement, JSONCompareResult result) {
+        if (numericComparison.isTolerant() && areNumbers(expectedElement, actualElement)) {
+            return !areNotSameDoubles(expectedElement, actualElement);
+        }
+        return super.elementsMatch(expectedElement, actualElement, result);
+    }
+
+    /**
+     * Counting simple values tells them apart by {@code equals}, which does not allow for a tolerance.  So with a
+     * tolerant numeric comparison, arrays holding numbers other than integers are paired up element by element.
+     */
+    private boolean pairsUpNumbers(JSONArray expected, JSONArray actual) {
+        return numericComparison.isTolerant() && (hasNonIntegers(expected) || hasNonIntegers(actual));
+    }
+
+    private static boolean hasNonIntegers(JSONArray array) {
+        for (int i = 0; i < array.length(); ++i) {
+            Object value = array.opt(i);
+            if (value instanceof Number && !(value instanceof Integer || value instanceof Long
+                    || value instanceof BigInteger)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean areNumbers(Object expectedValue, Object actualValue) {
         return expectedValue instanceof Number && actualValue instanceof Number;
     }
 
+    /**
+     * Whether two numbers differ, according to this comparator's {@linkplain #getNumericComparison() numeric
+     * comparison}.  The name dates from when numbers were always compared as doubles.
+     *
+     * @param expectedValue the expected number
+     * @param actualValue   the actual number
+     * @return true if the numbers are not equal
+     */
     protected boolean areNotSameDoubles(Object expectedValue, Object actualValue) {
-        return ((Number) expectedValue).doubleValue() != ((Number) actualValue).doubleValue();
+        return !numericComparison.equal((Number) expectedValue, (Number) actualValue);
     }
 }
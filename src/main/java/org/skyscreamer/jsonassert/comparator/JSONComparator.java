@@ -76,4 +76,47 @@ public interface JSONComparator {
      * @param result   stores the actual state of the comparison result
      */
     void compareJSONArray(String prefix, JSONArray expected, JSONArray actual, JSONCompareResult result);
+
+    /**
+     * Compares two {@link JSONObject}s at {@code path}, like {@link #compareJSON(String, JSONObject, JSONObject,
+     * JSONCompareResult)}, but without needing the path as a {@code String}.  Comparators that keep track of
+     * the path as they descend override this; the default materializes the path and calls the {@code String}
+     * based method.
+     *
+     * @param path     the path in the json where the comparison happens
+     * @param expected the expected JSON object
+     * @param actual   the actual JSON object
+     * @param result   stores the actual state of the comparison result
+     */
+    default void compareJSON(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        compareJSON(path.toString(), expected, actual, result);
+    }
+
+    /**
+     * Compares two {@link Object}s at {@code path}, like {@link #compareValues(String, Object, Object,
+     * JSONCompareResult)}.  The default materializes the path and calls the {@code String} based method.
+     *
+     * @param path          the path in the json where the comparison happens
+     * @param expectedValue the expected value
+     * @param actualValue   the actual value
+     * @param result        stores the actual state of the comparison result
+     */
+    default void compareValues(JSONComparePath path, Object expectedValue, Object actualValue,
+                               JSONCompareResult result) {
+        compareValues(path.toString(), expectedValue, actualValue, result);
+    }
+
+    /**
+     * Compares two {@link JSONArray}s at {@code path}, like {@link #compareJSONArray(String, JSONArray, JSONArray,
+     * JSONCompareResult)}.  The default materializes the path and calls the {@code String} based method.
+     *
+     * @param path     the path in the json where the comparison happens
+     * @param expected the expected JSON array
+     * @param actual   the actual JSON array
+     * @param result   stores the actual state of the comparison result
+     */
+    default void compareJSONArray(JSONComparePath path, JSONArray expected, JSONArray actual,
+                                  JSONCompareResult result) {
+        compareJSONArray(path.toString(), expected, actual, result);
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.util.Arrays;
+
+/**
+ * The path of the value being compared, built up and torn down as a comparator descends and returns, so that
+ * descending does not create a new {@code String} for every value.  The text is the same as the {@code String}
+ * prefixes passed to the {@code String} based methods of {@link JSONComparator}, for example
+ * {@code "store.books[2].title"} or {@code "users[id=7].name"}, and is only turned into a {@code String} by
+ * {@link #toString()}, which caches it until the path changes.
+ * <p>
+ * Every {@code push} must be matched by a {@link #pop()} once the value has been compared.  A path is not safe for
+ * use by more than one thread at a time.
+ */
+public final class JSONComparePath implements CharSequence {
+    private final StringBuilder text;
+    private int[] marks = new int[16];
+    private int depth;
+    private String string;
+    // Where the last CustomizationTrie to look this path up got to, kept in step by pop()
+    CustomizationTrie.Cursor cursor;
+
+    /**
+     * Creates an empty path, for the top level of a document.
+     */
+    public JSONComparePath() {
+        this("");
+    }
+
+    /**
+     * Creates a path starting at {@code prefix}.
+     *
+     * @param prefix the path of the value this path starts at, as used by the {@code String} based methods of
+     *               {@link JSONComparator}
+     */
+    public JSONComparePath(String prefix) {
+        text = new StringBuilder(Math.max(64, prefix.length() + 32)).append(prefix);
+        string = prefix;
+    }
+
+    /**
+     * Descends into the value of {@code key} in an object.
+     *
+     * @param key the key
+     * @return this path
+     * @see JSONCompareUtil#qualify(String, String)
+     */
+    public JSONComparePath pushKey(String key) {
+        mark();
+        if (text.length() > 0) {
+            text.append('.');
+        }
+        text.append(key);
+        return this;
+    }
+
+    /**
+     * Descends into the element at {@code index} of an array.
+     *
+     * @param index the index
+     * @return this path
+     */
+    public JSONComparePath pushIndex(int index) {
+        mark();
+        text.append('[').append(index).append(']');
+        return this;
+    }
+
+    /**
+     * Descends into the element of an array whose {@code uniqueKey} has {@code value}.
+     *
+     * @param uniqueKey the key identifying the elements of the array
+     * @param value     the value of {@code uniqueKey} in the element
+     * @return this path
+     * @see JSONCompareUtil#formatUniqueKey(String, String, Object)
+     */
+    public JSONComparePath pushUniqueKey(String uniqueKey, Object value) {
+        mark();
+        text.append('[').append(uniqueKey).append('=').append(value).append(']');
+        return this;
+    }
+
+    /**
+     * Returns to the path before the last {@code push}.
+     *
+     * @return this path
+     * @throws IllegalStateException if nothing has been pushed
+     */
+    public JSONComparePath pop() {
+        if (depth == 0) {
+            throw new IllegalStateException("Nothing to pop");
+        }
+        text.setLength(marks[--depth]);
+        string = null;
+        if (cursor != null) {
+            cursor.truncate(text.length());
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of pushes that have not been popped yet
+     */
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return text.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text.subSequence(start, end);
+    }
+
+    /**
+     * @return the path, in the format of the {@code String} based methods of {@link JSONComparator}
+     */
+    @Override
+    public String toString() {
+        if (string == null) {
+            string = text.toString();
+        }
+        return string;
+    }
+
+    private void mark() {
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth * 2);
+        }
+        marks[depth++] = text.length();
+        string = null;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+/**
+ * Computes structural hashes ("fingerprints") of JSON values, for quickly rejecting or bucketing candidates before
+ * running a full comparison.
+ *
+ * <p>Fingerprints are mode-aware: they never depend on the order of keys in an object, and only depend on the
+ * order of array elements when the mode has strict ordering.  Numbers are hashed by their double value, like
+ * {@link DefaultComparator} compares them.  Consequently, two values that pass a {@link DefaultComparator}
+ * comparison in a non-extensible mode always have the same fingerprint.  The reverse does not hold: equal
+ * fingerprints only make a match likely.</p>
+ *
+ * <p>Fingerprints of objects and arrays are remembered by identity, so each subtree is hashed only once for the
+ * lifetime of an instance.  Instances are therefore meant to be short lived, scoped to a single comparison, and
+ * must not be used once the JSON they hashed has been modified.  Not thread-safe.</p>
+ */
+public final class JSONFingerprinter {
+    private static final long NULL_HASH = 0x5bd1e9955bd1e995L;
+    private static final long OBJECT_HASH = 0x9e3779b97f4a7c15L;
+    private static final long ARRAY_HASH = 0xc2b2ae3d27d4eb4fL;
+    private static final long SCALAR_HASH = 0x165667b19e3779f9L;
+    private static final long MISSING_HASH = 0x27d4eb2f165667c5L;
+
+    private final JSONCompareMode mode;
+    private final Map<Object, Long> known;
+    private final Map<Object, Long> fingerprints = new IdentityHashMap<Object, Long>();
+
+    /**
+     * @param mode the mode of the comparison the fingerprints are used for
+     */
+    public JSONFingerprinter(JSONCompareMode mode) {
+        this.mode = mode;
+        this.known = null;
+    }
+
+    /**
+     * Creates a fingerprinter that starts out knowing the fingerprints {@code known} has worked out, for instance
+     * those of an expected document that many actual documents are compared to.  {@code known} is only read, so
+     * several fingerprinters, on several threads, can share it as long as it is no longer used itself.
+     *
+     * @param known a fingerprinter for the same mode
+     */
+    public JSONFingerprinter(JSONFingerprinter known) {
+        this.mode = known.mode;
+        this.known = known.fingerprints;
+    }
+
+    /**
+     * @return the mode the fingerprints are computed for
+     */
+    public JSONCompareMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Fingerprint of a complete JSON value.
+     *
+     * @param value a {@link JSONObject}, {@link JSONArray}, simple value, or {@code null}
+     * @return the fingerprint of {@code value}
+     */
+    public long fingerprint(Object value) {
+        if (value instanceof JSONObject || value instanceof JSONArray) {
+            Long cached = known != null ? known.get(value) : null;
+            if (cached == null) {
+                cached = fingerprints.get(value);
+            }
+            if (cached == null) {
+                cached = value instanceof JSONObject
+                        ? fingerprintObject((JSONObject) value)
+                        : fingerprintArray((JSONArray) value);
+                fingerprints.put(value, cached);
+            }
+            return cached;
+        }
+        return scalarFingerprint(value);
+    }
+
+    /**
+     * Hash of the key structure of {@code value}, for grouping expected values that can share a
+     * {@linkplain #fingerprint(Object, Object) projection}.  In non-extensible modes all values have the same shape.
+     *
+     * @param value a {@link JSONObject}, {@link JSONArray}, simple value, or {@code null}
+     * @return the hash of the shape of {@code value}
+     */
+    public long shape(Object value) {
+        if (!mode.isExtensible()) {
+            return SCALAR_HASH;
+        }
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            long hash = OBJECT_HASH;
+            for (String key : object.keySet()) {
+                hash += mix(key.hashCode() * 31L + shape(object.get(key)));
+            }
+            return mix(hash);
+        } else if (value instanceof JSONArray) {
+            return ARRAY_HASH;
+        }
+        return SCALAR_HASH;
+    }
+
+    /**
+     * Fingerprint of {@code value} as seen through the shape of an expected value.  In extensible modes only the
+     * keys present in {@code shape} contribute, so an actual value that merely carries extra fields fingerprints
+     * the same as an expected value with otherwise equal content; arrays then only contribute their length.  In
+     * non-extensible modes this is the plain {@link #fingerprint(Object)}.
+     *
+     * @param value the value to fingerprint
+     * @param shape an expected value whose keys select what contributes
+     * @return the projected fingerprint
+     */
+    public long fingerprint(Object value, Object shape) {
+        if (!mode.isExtensible()) {
+            return fingerprint(value);
+        }
+        if (shape instanceof JSONObject) {
+            if (!(value instanceof JSONObject)) {
+                return typeFingerprint(value);
+            }
+            JSONObject shapeObject = (JSONObject) shape;
+            JSONObject object = (JSONObject) value;
+            long hash = OBJECT_HASH;
+            for (String key : shapeObject.keySet()) {
+                long valueHash = object.has(key) ? fingerprint(object.get(key), shapeObject.get(key)) : MISSING_HASH;
+                hash += mix(key.hashCode() * 31L + valueHash);
+            }
+            return mix(hash);
+        } else if (shape instanceof JSONArray) {
+            if (!(value instanceof JSONArray)) {
+                return typeFingerprint(value);
+            }
+            return mix(ARRAY_HASH + ((JSONArray) value).length());
+        }
+        return typeFingerprint(value);
+    }
+
+    private long fingerprintObject(JSONObject object) {
+        long hash = OBJECT_HASH;
+        for (String key : object.keySet()) {
+            hash += mix(key.hashCode() * 31L + fingerprint(object.get(key)));
+        }
+        return mix(hash);
+    }
+
+    private long fingerprintArray(JSONArray array) {
+        long hash = ARRAY_HASH + array.length();
+        for (int i = 0; i < array.length(); ++i) {
+            long element = fingerprint(JSONCompareUtil.getObjectOrNull(array, i));
+            if (mode.hasStrictOrder()) {
+                hash = hash * 31 + element;
+            } else {
+                hash += mix(element);
+            }
+        }
+        return mix(hash);
+    }
+
+    private static long typeFingerprint(Object value) {
+        if (value instanceof JSONObject) {
+            return OBJECT_HASH;
+        } else if (value instanceof JSONArray) {
+            return ARRAY_HASH;
+        }
+        return scalarFingerprint(value);
+    }
+
+    private static long scalarFingerprint(Object value) {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            return NULL_HASH;
+        } else if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            // 0.0 and -0.0 compare as equal
+            return mix(d == 0 ? 0 : Double.doubleToLongBits(d));
+        }
+        return mix(value.hashCode());
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -28,8 +28,9 @@ import java.util.*;
 /**
  * Provides Custom matching support like {@link CustomComparator} but via <a href="https://goessner.net/articles/JsonPath/">JSONPath</a>
  * <br><br>
- * This class is thread-safe, but reusing instances of it would result in blocking against it.
- * So <b>consider instantiating different instances of it per testcase</b> if running a multi-threaded/parallel test executor.
+ * Instances are immutable: everything that belongs to a single comparison lives in a per-invocation context
+ * {@linkplain JSONCompareResult#attach(Object, Object) attached} to its result, so one instance can be shared by any
+ * number of threads, without locking, and subtrees compared on other threads see the context of their comparison.
  *
  * @author Shane B. (<a href="mailto:shane@wander.dev">shane@wander.dev</a>)
  */
@@ -38,10 +39,6 @@ public class JSONPathComparator extends DefaultComparator {
 
     private final Collection<JSONPathCustomization> customizations;
 
-    private final Map<JSONPathCustomization, Object> resultCache = new HashMap<>();
-
-    private JSONObject actual = null;
-
     /**
      * Create an instance of the JSONPath based comparator.
      * <br>
@@ -70,34 +67,45 @@ public class JSONPathComparator extends DefaultComparator {
     }
 
     @Override
-    public synchronized void compareJSON(String prefix, JSONObject expected, JSONObject actual, JSONCompareResult result) {
-        // synchronised to make reuse of a comparator technically possible.
-        // Main reason to capture and set the member here rather than in the constructor is
-        // to not hugely change the implementation details of JSONAssert, while still maintaining
-        // the necessary pointers to the top level of the JSONObject hierarchy.
-        // This means that in a multithreaded environment we will block on this method.
-        // So: devs should ideally not reuse instances of this comparator across tests that are meant to run in parallel.
-        boolean isRootCall = this.actual == null;
-        if (isRootCall) {
-            this.actual = actual;
-            this.resultCache.clear();
+    public void compareJSON(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        // JSONPath queries are evaluated against the top level of the actual document, so the outermost call
+        // attaches an invocation rooted there to the result. Nested calls, including those made with forks of the
+        // result on other threads and the trial comparisons made while matching unordered arrays, reuse it.
+        if (result.getAttachment(this) != null) {
+            super.compareJSON(path, expected, actual, result);
+            return;
         }
+        result.attach(this, new Invocation(actual));
+        try {
+            super.compareJSON(path, expected, actual, result);
+        } finally {
+            result.attach(this, null);
+        }
+    }
 
-        super.compareJSON(prefix, expected, actual, result);
-
-        if (isRootCall) {
-            this.actual = null;
+    @Override
+    public void compareJSONArray(JSONComparePath path, JSONArray expected, JSONArray actual, JSONCompareResult result) {
+        if (result.getAttachment(this) != null) {
+            super.compareJSONArray(path, expected, actual, result);
+            return;
+        }
+        result.attach(this, new Invocation(actual));
+        try {
+            super.compareJSONArray(path, expected, actual, result);
+        } finally {
+            result.attach(this, null);
         }
     }
 
     @Override
-    public void compareValues(String prefix, Object expectedValue, Object actualValue, JSONCompareResult result) {
+    public void compareValues(JSONComparePath path, Object expectedValue, Object actualValue, JSONCompareResult result) {
         // This is very similar to CustomComparator.
         // In fact, I question why CustomComparator supports some level of wildcard matching,
         // but only compares a *single* Customisation being evaluated.
         // It appears quite possible have multiple Customisations with a matching path in it...
-        List<JSONPathCustomization> customizations = getCustomization(actualValue);
+        List<JSONPathCustomization> customizations = getCustomization(actualValue, result);
         if (!customizations.isEmpty()) {
+            String prefix = path.toString();
             try {
                 // Does *any* of the customisations result in a test failure?
                 for (JSONPathCustomization customization : customizations) {
@@ -109,7 +117,7 @@ public class JSONPathComparator extends DefaultComparator {
                 result.fail(prefix, e);
             }
         } else {
-            super.compareValues(prefix, expectedValue, actualValue, result);
+            super.compareValues(path, expectedValue, actualValue, result);
         }
     }
 
@@ -132,42 +140,59 @@ public class JSONPathComparator extends DefaultComparator {
      * and find all results, and compare those against any node in the recursively navigated JSON tree
      * by reference/pointer (i.e. <code>==</code>) to determine if they are the same object.
      * <br><br>
-     * Here, we use this strategy to determine all the customisation rules applicable to a given JSON Tree node.
+     * Here, we use this strategy to determine all the customisation rules applicable to a given JSON Tree node:
+     * the results of every query are indexed by reference once per comparison, so each lookup takes constant time.
      *
      * @param actualValue The object to find all applicable {@link JSONPathCustomization}s for
+     * @param result      The result of the comparison in progress
      * @return  Customisations applicable to this object
      */
-    private List<JSONPathCustomization> getCustomization(Object actualValue) {
-        List<JSONPathCustomization> applicableCustomisations = new ArrayList<>();
-        for (JSONPathCustomization c : customizations) {
-            // some implementation details need to be known here.
-            // JSONAssert uses the org.json
-            Object results = this.getCachedResult(c);
-
-            if (results instanceof JSONArray) {
-                // multiple results for JSONPath expression
-                // (something like $.items[*] might return this)
-                for (Object o : (JSONArray) results) {
-                    if (o == actualValue) {
-                        applicableCustomisations.add(c);
-                    }
-                }
-            } else if (results == actualValue) {
-                applicableCustomisations.add(c);
-            }
+    private List<JSONPathCustomization> getCustomization(Object actualValue, JSONCompareResult result) {
+        Invocation current = (Invocation) result.getAttachment(this);
+        if (current == null) {
+            // Called outside of a comparison: there is no document to evaluate the queries against
+            return Collections.emptyList();
         }
-        return applicableCustomisations;
+        List<JSONPathCustomization> applicableCustomisations = current.getMatchTable().get(actualValue);
+        return applicableCustomisations != null ? applicableCustomisations : Collections.emptyList();
     }
 
     /**
-     * Avoids performing queries multiple times. The result will always be the same.
+     * State of a single comparison: the top level of the actual document, and the customizations that apply to
+     * each of its nodes.
      */
-    private Object getCachedResult(JSONPathCustomization c) {
-        if (this.resultCache.containsKey(c)) {
-            return this.resultCache.get(c);
+    private final class Invocation {
+        private final Object actual;
+        private volatile Map<Object, List<JSONPathCustomization>> matchTable;
+
+        Invocation(Object actual) {
+            this.actual = actual;
+        }
+
+        /**
+         * Evaluates every query once, on first use, and indexes the nodes it selects by reference, so that
+         * looking up the customizations of a node does not depend on the number of customizations or results.
+         * Each list keeps the customizations in declaration order, once per time the node was selected.  Threads
+         * comparing parts of the same document may both build the table; they build the same one.
+         */
+        Map<Object, List<JSONPathCustomization>> getMatchTable() {
+            if (matchTable == null) {
+                Map<Object, List<JSONPathCustomization>> table = new IdentityHashMap<>();
+                for (JSONPathCustomization c : customizations) {
+                    Object results = c.getJsonPath().read(this.actual, jsonPathConfig);
+                    if (results instanceof JSONArray) {
+                        // multiple results for JSONPath expression
+                        // (something like $.items[*] might return this)
+                        for (Object o : (JSONArray) results) {
+                            table.computeIfAbsent(o, k -> new ArrayList<>(1)).add(c);
+                        }
+                    } else {
+                        table.computeIfAbsent(results, k -> new ArrayList<>(1)).add(c);
+                    }
+                }
+                matchTable = table;
+            }
+            return matchTable;
         }
-        Object result = c.getJsonPath().read(this.actual, this.jsonPathConfig);
-        this.resultCache.put(c, result);
-        return result;
     }
 }
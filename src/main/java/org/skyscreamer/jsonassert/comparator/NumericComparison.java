@@ -0,0 +1,255 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Decides whether two numbers are equal when a {@link DefaultComparator} compares them.
+ * <ul>
+ *     <li>{@link #EXACT}, the default, compares by value without loss of precision: {@code 1}, {@code 1L} and
+ *     {@code 1.0} are equal, but two longs or decimals that only differ beyond the precision of a {@code double}
+ *     are not.</li>
+ *     <li>{@link #AS_DOUBLES} converts both numbers to {@code double} first, which is what JSONassert used to
+ *     do.</li>
+ *     <li>{@link #withTolerance(double)} and {@link #withinUlps(long)} let floating point values differ by a
+ *     little.</li>
+ * </ul>
+ */
+public abstract class NumericComparison {
+
+    /**
+     * Compares numbers by their exact value.  Integers of the same kind are compared as they are, as are two
+     * {@code double}s (so {@code 0.0} equals {@code -0.0} and {@code NaN} equals nothing); anything involving a
+     * {@code BigDecimal}, a {@code BigInteger} or a mix of integers and floating point values is compared as
+     * {@code BigDecimal}s, regardless of scale.  A {@code double} counts as the decimal it prints as, so
+     * {@code 0.1d} equals the decimal {@code 0.1}.
+     */
+    public static final NumericComparison EXACT = new Exact();
+
+    /**
+     * Compares the {@code double} values of numbers.  Large longs and precise decimals may compare as equal even
+     * though they differ.
+     */
+    public static final NumericComparison AS_DOUBLES = new AsDoubles();
+
+    /**
+     * Returns a comparison that lets two numbers differ by up to {@code epsilon}, unless both are integers, which
+     * are compared {@linkplain #EXACT exactly}.
+     *
+     * @param epsilon the largest absolute difference between equal numbers
+     * @return the comparison
+     * @throws IllegalArgumentException if {@code epsilon} is negative or not a number
+     */
+    public static NumericComparison withTolerance(double epsilon) {
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("epsilon must be at least 0 but was " + epsilon);
+        }
+        return new Tolerance(epsilon);
+    }
+
+    /**
+     * Returns a comparison that lets the {@code double} values of two numbers be up to {@code ulps} representable
+     * values apart, unless both are integers, which are compared {@linkplain #EXACT exactly}.
+     *
+     * @param ulps the number of units in the last place equal numbers may differ by
+     * @return the comparison
+     * @throws IllegalArgumentException if {@code ulps} is negative
+     */
+    public static NumericComparison withinUlps(long ulps) {
+        if (ulps < 0) {
+            throw new IllegalArgumentException("ulps must be at least 0 but was " + ulps);
+        }
+        return new Ulps(ulps);
+    }
+
+    /**
+     * Subclasses outside this package are not supported.
+     */
+    NumericComparison() {
+    }
+
+    /**
+     * @param expected the expected number
+     * @param actual   the actual number
+     * @return true if the numbers are equal
+     */
+    public abstract boolean equal(Number expected, Number actual);
+
+    /**
+     * Whether numbers may be equal even though their {@code double} values differ.  Comparators only use
+     * {@link JSONFingerprinter} to rule out candidates when this is false.
+     *
+     * @return true for comparisons with a tolerance
+     */
+    public boolean isTolerant() {
+        return false;
+    }
+
+    private static boolean isInteger(Number n) {
+        return n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte;
+    }
+
+    private static boolean isIntegral(Number n) {
+        return isInteger(n) || n instanceof BigInteger;
+    }
+
+    private static boolean isBinaryFloatingPoint(Number n) {
+        return n instanceof Double || n instanceof Float;
+    }
+
+    private static boolean isNonFinite(Number n) {
+        return isBinaryFloatingPoint(n) && (Double.isNaN(n.doubleValue()) || Double.isInfinite(n.doubleValue()));
+    }
+
+    /**
+     * @return {@code n} as a {@code BigDecimal}, or {@code null} if it is of an unknown kind that does not print as
+     *         a decimal
+     */
+    private static BigDecimal toBigDecimal(Number n) {
+        if (n instanceof BigDecimal) {
+            return (BigDecimal) n;
+        } else if (isInteger(n)) {
+            return BigDecimal.valueOf(n.longValue());
+        } else if (n instanceof BigInteger) {
+            return new BigDecimal((BigInteger) n);
+        } else if (isBinaryFloatingPoint(n)) {
+            return BigDecimal.valueOf(n.doubleValue());
+        }
+        try {
+            return new BigDecimal(n.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Exact extends NumericComparison {
+        @Override
+        public boolean equal(Number expected, Number actual) {
+            if (expected instanceof Integer && actual instanceof Integer) {
+                return expected.intValue() == actual.intValue();
+            }
+            if (isInteger(expected) && isInteger(actual)) {
+                return expected.longValue() == actual.longValue();
+            }
+            if (isBinaryFloatingPoint(expected) && isBinaryFloatingPoint(actual)) {
+                return expected.doubleValue() == actual.doubleValue();
+            }
+            if (isNonFinite(expected) || isNonFinite(actual)) {
+                // The other one is not a double, so it is finite
+                return false;
+            }
+            BigDecimal e = toBigDecimal(expected);
+            BigDecimal a = toBigDecimal(actual);
+            if (e == null || a == null) {
+                return expected.doubleValue() == actual.doubleValue();
+            }
+            return e.compareTo(a) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "EXACT";
+        }
+    }
+
+    private static final class AsDoubles extends NumericComparison {
+        @Override
+        public boolean equal(Number expected, Number actual) {
+            return expected.doubleValue() == actual.doubleValue();
+        }
+
+        @Override
+        public String toString() {
+            return "AS_DOUBLES";
+        }
+    }
+
+    private static final class Tolerance extends NumericComparison {
+        private final double epsilon;
+
+        Tolerance(double epsilon) {
+            this.epsilon = epsilon;
+        }
+
+        @Override
+        public boolean equal(Number expected, Number actual) {
+            if (isIntegral(expected) && isIntegral(actual)) {
+                return EXACT.equal(expected, actual);
+            }
+            double e = expected.doubleValue();
+            double a = actual.doubleValue();
+            return e == a || Math.abs(e - a) <= epsilon;
+        }
+
+        @Override
+        public boolean isTolerant() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "withTolerance(" + epsilon + ")";
+        }
+    }
+
+    private static final class Ulps extends NumericComparison {
+        private final long ulps;
+
+        Ulps(long ulps) {
+            this.ulps = ulps;
+        }
+
+        @Override
+        public boolean equal(Number expected, Number actual) {
+            if (isIntegral(expected) && isIntegral(actual)) {
+                return EXACT.equal(expected, actual);
+            }
+            double e = expected.doubleValue();
+            double a = actual.doubleValue();
+            if (e == a) {
+                return true;
+            }
+            if (Double.isNaN(e) || Double.isNaN(a)) {
+                return false;
+            }
+            long distance = ordered(e) - ordered(a);
+            // Only the distance between values of opposite signs can overflow
+            if ((ordered(e) ^ ordered(a)) < 0 && (ordered(e) ^ distance) < 0) {
+                return false;
+            }
+            return Math.abs(distance) <= ulps;
+        }
+
+        /**
+         * Maps a double to a long such that adjacent doubles map to adjacent longs.
+         */
+        private static long ordered(double d) {
+            long bits = Double.doubleToLongBits(d);
+            return bits < 0 ? Long.MIN_VALUE - bits : bits;
+        }
+
+        @Override
+        public boolean isTolerant() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "withinUlps(" + ulps + ")";
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.arrayOfJsonObjectToMap;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.formatUniqueKey;
+
+/**
+ * A {@link DefaultComparator} that compares large objects and arrays on a {@link ForkJoinPool}.
+ * <p>
+ * Objects with at least {@linkplain #getThreshold() threshold} keys, and arrays with at least as many elements that
+ * are compared in order or paired up by a unique key, are split into chunks of at most {@code threshold} children.
+ * The chunks are compared in parallel, each into a {@linkplain JSONCompareResult#fork() forked} result, and the
+ * forked results are then {@linkplain JSONCompareResult#absorb(JSONCompareResult) absorbed} in the order of the
+ * chunks.  So failures are reported in the same order as by a {@code DefaultComparator}, whatever the timing of the
+ * threads.  Nested subtrees that are large enough are split in turn.
+ * <p>
+ * Once a chunk settles the outcome, by failing a {@linkplain JSONCompareResult#failFast() fail-fast} comparison or
+ * by reaching the failure cap, the chunks after it stop early.
+ * <p>
+ * Subclasses may be called from several threads at once, so anything they override must be thread-safe.
+ */
+public class ParallelComparator extends DefaultComparator {
+
+    /**
+     * The number of keys or elements from which objects and arrays are compared in parallel by default.
+     */
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Compares on the {@linkplain ForkJoinPool#commonPool() common pool} with the
+     * {@linkplain #DEFAULT_THRESHOLD default threshold}.
+     *
+     * @param mode the mode to compare in
+     */
+    public ParallelComparator(JSONCompareMode mode) {
+        this(mode, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param mode      the mode to compare in
+     * @param pool      the pool to compare on
+     * @param threshold the number of keys or elements from which objects and arrays are compared in parallel
+     */
+    public ParallelComparator(JSONCompareMode mode, ForkJoinPool pool, int threshold) {
+        this(mode, NumericComparison.EXACT, pool, threshold);
+    }
+
+    /**
+     * @param mode              the mode to compare in
+     * @param numericComparison decides whether two numbers are equal
+     * @param pool              the pool to compare on
+     * @param threshold         the number of keys or elements from which objects and arrays are compared in parallel
+     */
+    public ParallelComparator(JSONCompareMode mode, NumericComparison numericComparison, ForkJoinPool pool,
+                              int threshold) {
+        super(mode, numericComparison);
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1 but was " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return the pool this comparator compares on
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return the number of keys or elements from which objects and arrays are compared in parallel
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public void compareJSON(JSONComparePath path, JSONObject expected, JSONObject actual, JSONCompareResult result) {
+        if (expected.length() < threshold || usesStringPrefixes()) {
+            super.compareJSON(path, expected, actual, result);
+            return;
+        }
+        Set<String> keys = result.isDeterministic() ? getExpectedKeys(expected) : expected.keySet();
+        final String[] expectedKeys = keys.toArray(new String[0]);
+        int shared = compareInParallel(path, expectedKeys.length, result, (i, keyPath, part) -> {
+            String key = expectedKeys[i];
+            Object actualValue = actual.opt(key);
+            if (actualValue == null) {
+                part.missing(keyPath.toString(), key);
+                return 0;
+            }
+            compareValuesAt(keyPath.pushKey(key), expected.get(key), actualValue, part);
+            keyPath.pop();
+            return 1;
+        });
+        if (!getMode().isExtensible() && shared < actual.length() && !result.shouldStop()) {
+            checkJsonObjectKeysActualInExpected(path, expected, actual, result);
+        }
+    }
+
+    @Override
+    protected void compareJSONArrayWithStrictOrder(JSONComparePath path, JSONArray expected, JSONArray actual,
+                                                   JSONCompareResult result) {
+        if (expected.length() < threshold || usesStringPrefixes()) {
+            super.compareJSONArrayWithStrictOrder(path, expected, actual, result);
+            return;
+        }
+        compareInParallel(path, expected.length(), result, (i, indexPath, part) -> {
+            Object expectedValue = JSONCompareUtil.getObjectOrNull(expected, i);
+            Object actualValue = JSONCompareUtil.getObjectOrNull(actual, i);
+            compareValuesAt(indexPath.pushIndex(i), expectedValue, actualValue, part);
+            indexPath.pop();
+            return 0;
+        });
+    }
+
+    @Override
+    protected void compareJSONArrayOfJsonObjects(JSONComparePath path, String uniqueKey,
+                                                 Map<Object, JSONObject> expectedValueMap, JSONArray actual,
+                                                 JSONCompareResult result) {
+        if (expectedValueMap.size() < threshold || usesStringPrefixes()) {
+            super.compareJSONArrayOfJsonObjects(path, uniqueKey, expectedValueMap, actual, result);
+            return;
+        }
+        final Map<Object, JSONObject> actualValueMap = arrayOfJsonObjectToMap(actual, uniqueKey);
+        final Object[] ids = expectedValueMap.keySet().toArray();
+        compareInParallel(path, ids.length, result, (i, idPath, part) -> {
+            Object id = ids[i];
+            JSONObject actualValue = actualValueMap.get(id);
+            if (actualValue == null) {
+                part.missing(formatUniqueKey(idPath.toString(), uniqueKey, id), expectedValueMap.get(id));
+                return 0;
+            }
+            compareValuesAt(idPath.pushUniqueKey(uniqueKey, id), expectedValueMap.get(id), actualValue, part);
+            idPath.pop();
+            return 0;
+        });
+        for (Object id : actualValueMap.keySet()) {
+            if (result.shouldStop()) {
+                return;
+            }
+            if (!expectedValueMap.containsKey(id)) {
+                result.unexpected(formatUniqueKey(path.toString(), uniqueKey, id), actualValueMap.get(id));
+            }
+        }
+    }
+
+    /**
+     * Only true for a plain {@code ParallelComparator} in a non-extensible mode that compares numbers without a
+     * tolerance: subclasses may customize how values compare.
+     */
+    @Override
+    protected boolean matchesOnlyEqualValues() {
+        return !getMode().isExtensible() && !getNumericComparison().isTolerant()
+                && getClass() == ParallelComparator.class;
+    }
+
+    /**
+     * Compares the children {@code 0} to {@code length - 1} of the objects or arrays at {@code path} in chunks of at
+     * most {@link #threshold} children, in parallel, and records their failures in {@code result} in order.
+     *
+     * @return the sum of what the comparisons of the children returned
+     */
+    private int compareInParallel(JSONComparePath path, int length, JSONCompareResult result,
+                                  ChildComparison comparison) {
+        Chunks chunks = new Chunks(path.toString(), length, result, comparison);
+        if (ForkJoinTask.getPool() == pool) {
+            chunks.invoke();
+        } else {
+            pool.invoke(chunks);
+        }
+        int sum = 0;
+        for (int chunk = 0; chunk < chunks.parts.length; ++chunk) {
+            result.absorb(chunks.parts[chunk]);
+            sum += chunks.sums[chunk];
+        }
+        return sum;
+    }
+
+    /**
+     * Compares one child of a pair of objects or arrays.
+     */
+    private interface ChildComparison {
+        /**
+         * @param index  the index of the child
+         * @param path   the path of the parent, to push the child on and pop it off again
+         * @param result stores the result of the comparison
+         * @return a count to add up over all children
+         */
+        int compare(int index, JSONComparePath path, JSONCompareResult result);
+    }
+
+    /**
+     * The chunks of one parent, each with its own result.  Splits itself in halves until single chunks are left.
+     */
+    private final class Chunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String prefix;
+        private final int length;
+        private final ChildComparison comparison;
+        private final JSONCompareResult[] parts;
+        private final int[] sums;
+        private final AtomicInteger stopAfter;
+        private final boolean failFast;
+        private final int from;
+        private final int to;
+
+        Chunks(String prefix, int length, JSONCompareResult result, ChildComparison comparison) {
+            this.prefix = prefix;
+            this.length = length;
+            this.comparison = comparison;
+            int count = (length + threshold - 1) / threshold;
+            this.parts = new JSONCompareResult[count];
+            for (int chunk = 0; chunk < count; ++chunk) {
+                parts[chunk] = result.fork();
+            }
+            this.sums = new int[count];
+            this.stopAfter = new AtomicInteger(Integer.MAX_VALUE);
+            this.failFast = result.isFailFast();
+            this.from = 0;
+            this.to = count;
+        }
+
+        private Chunks(Chunks parent, int from, int to) {
+            this.prefix = parent.prefix;
+            this.length = parent.length;
+            this.comparison = parent.comparison;
+            this.parts = parent.parts;
+            this.sums = parent.sums;
+            this.stopAfter = parent.stopAfter;
+            this.failFast = parent.failFast;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunks(this, from, mid), new Chunks(this, mid, to));
+                return;
+            }
+            int chunk = from;
+            JSONCompareResult part = parts[chunk];
+            JSONComparePath path = new JSONComparePath(prefix);
+            int end = Math.min(length, (chunk + 1) * threshold);
+            int sum = 0;
+            for (int i = chunk * threshold; i < end && !part.shouldStop(); ++i) {
+                if (chunk > stopAfter.get()) {
+                    return;
+                }
+                sum += comparison.compare(i, path, part);
+            }
+            if (part.shouldStop()) {
+                // The chunks after this one cannot change the outcome; with fail-fast, neither can the others
+                stopAfter.accumulateAndGet(failFast ? -1 : chunk, Math::min);
+            }
+            sums[chunk] = sum;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each simple value occurs in an expected and an actual array, in one table with {@code int}
+ * counts, so that counting does not box an {@code Integer} per element.  Values are told apart by
+ * {@link Object#equals(Object)}, as in a {@link java.util.HashMap}, and are kept in the order they were first added.
+ * <p>
+ * Adding an expected value moves its balance up and adding an actual value moves it down; the table keeps track of
+ * how many values are out of balance, so that equal arrays are recognised without going through the table again.
+ */
+final class SimpleValueCounts {
+    private static final Object NULL = new Object();
+
+    private Object[] values;
+    private int[] expectedCounts;
+    private int[] actualCounts;
+    private int[] slots;
+    private int size;
+    private int unbalanced;
+
+    /**
+     * @param expectedSize the number of distinct values to make room for
+     */
+    SimpleValueCounts(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        values = new Object[capacity];
+        expectedCounts = new int[capacity];
+        actualCounts = new int[capacity];
+        slots = new int[tableSize(capacity)];
+    }
+
+    void addExpected(Object value, int count) {
+        int index = indexOf(value);
+        adjust(index, count);
+        expectedCounts[index] += count;
+    }
+
+    void addActual(Object value) {
+        int index = indexOf(value);
+        adjust(index, -1);
+        actualCounts[index]++;
+    }
+
+    /**
+     * @return true if every value occurs as often in the actual array as in the expected array
+     */
+    boolean balanced() {
+        return unbalanced == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value at {@code index}, in order of first appearance; {@code null} for JSON null
+     */
+    Object value(int index) {
+        return values[index] == NULL ? null : values[index];
+    }
+
+    int expectedCount(int index) {
+        return expectedCounts[index];
+    }
+
+    int actualCount(int index) {
+        return actualCounts[index];
+    }
+
+    private void adjust(int index, int delta) {
+        int before = expectedCounts[index] - actualCounts[index];
+        int after = before + delta;
+        if (before == 0 && after != 0) {
+            unbalanced++;
+        } else if (before != 0 && after == 0) {
+            unbalanced--;
+        }
+    }
+
+    private int indexOf(Object value) {
+        Object key = value == null ? NULL : value;
+        int mask = slots.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        for (int entry; (entry = slots[slot]) != 0; slot = (slot + 1) & mask) {
+            Object candidate = values[entry - 1];
+            if (candidate == key || candidate.equals(key)) {
+                return entry - 1;
+            }
+        }
+        if (size == values.length) {
+            grow();
+            return indexOf(value);
+        }
+        values[size] = key;
+        slots[slot] = ++size;
+        return size - 1;
+    }
+
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        expectedCounts = Arrays.copyOf(expectedCounts, capacity);
+        actualCounts = Arrays.copyOf(actualCounts, capacity);
+        slots = new int[tableSize(capacity)];
+        int mask = slots.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = spread(values[i].hashCode()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    private static int tableSize(int capacity) {
+        // at most half full
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.json.JSONArray;
+
+/**
+ * Tells whether two large arrays of numbers or strings hold the same values, ignoring order, by sorting primitive
+ * copies of them and checking them element by element.  This avoids hashing and boxing altogether, and walks
+ * memory in order.
+ * <p>
+ * Only arrays whose values can be copied without changing which of them are {@linkplain Object#equals(Object) equal}
+ * are handled: all strings, all decimals (which org.json parses as {@code BigDecimal}), all doubles, or all integers
+ * where every {@code Long} is outside the {@code int} range (as org.json parses them), so that an {@code Integer} and a
+ * {@code Long} never end up as the same {@code long}.  For anything else, and for arrays that differ, the caller counts
+ * the values as usual, which also produces the failure report.
+ */
+final class SortedSimpleValues {
+    /**
+     * Arrays shorter than this are counted; sorting only pays off for larger ones.
+     */
+    static final int THRESHOLD = 256;
+
+    /**
+     * Orders decimals by value and then by scale, so that, unlike {@link BigDecimal#compareTo(BigDecimal)}, only
+     * {@linkplain BigDecimal#equals(Object) equal} decimals compare as equal.
+     */
+    private static final Comparator<BigDecimal> DECIMAL_ORDER = new Comparator<BigDecimal>() {
+        @Override
+        public int compare(BigDecimal a, BigDecimal b) {
+            int c = a.compareTo(b);
+            return c != 0 ? c : Integer.compare(a.scale(), b.scale());
+        }
+    };
+
+    private SortedSimpleValues() {
+    }
+
+    /**
+     * @param expected an array of simple values
+     * @param actual   an array of the same length
+     * @return true if both arrays are large enough and of a supported kind, and hold the same values; false if
+     *         they differ or could not be compared this way
+     */
+    static boolean sameValues(JSONArray expected, JSONArray actual) {
+        int length = expected.length();
+        if (length < THRESHOLD || length != actual.length()) {
+            return false;
+        }
+        Object first = expected.opt(0);
+        if (first instanceof String) {
+            String[] expectedStrings = strings(expected);
+            String[] actualStrings = expectedStrings == null ? null : strings(actual);
+            if (actualStrings == null) {
+                return false;
+            }
+            Arrays.sort(expectedStrings);
+            Arrays.sort(actualStrings);
+            return Arrays.equals(expectedStrings, actualStrings);
+        }
+        if (first instanceof BigDecimal) {
+            BigDecimal[] expectedDecimals = decimals(expected);
+            BigDecimal[] actualDecimals = expectedDecimals == null ? null : decimals(actual);
+            if (actualDecimals == null) {
+                return false;
+            }
+            Arrays.sort(expectedDecimals, DECIMAL_ORDER);
+            Arrays.sort(actualDecimals, DECIMAL_ORDER);
+            return Arrays.equals(expectedDecimals, actualDecimals);
+        }
+        if (first instanceof Integer || first instanceof Long || first instanceof Double) {
+            boolean doubles = first instanceof Double;
+            long[] expectedNumbers = numbers(expected, doubles);
+            long[] actualNumbers = expectedNumbers == null ? null : numbers(actual, doubles);
+            if (actualNumbers == null) {
+                return false;
+            }
+            Arrays.sort(expectedNumbers);
+            Arrays.sort(actualNumbers);
+            return Arrays.equals(expectedNumbers, actualNumbers);
+        }
+        return false;
+    }
+
+    private static String[] strings(JSONArray array) {
+        String[] strings = new String[array.length()];
+        for (int i = 0; i < strings.length; i++) {
+            Object value = array.opt(i);
+            if (!(value instanceof String)) {
+                return null;
+            }
+            strings[i] = (String) value;
+        }
+        return strings;
+    }
+
+    private static BigDecimal[] decimals(JSONArray array) {
+        BigDecimal[] decimals = new BigDecimal[array.length()];
+        for (int i = 0; i < decimals.length; i++) {
+            Object value = array.opt(i);
+            if (!(value instanceof BigDecimal)) {
+                return null;
+            }
+            decimals[i] = (BigDecimal) value;
+        }
+        return decimals;
+    }
+
+    /**
+     * Copies integers as they are and doubles as their {@link Double#doubleToLongBits(double) bits}, which are
+     * equal exactly when the {@code Double}s are.
+     */
+    private static long[] numbers(JSONArray array, boolean doubles) {
+        long[] numbers = new long[array.length()];
+        for (int i = 0; i < numbers.length; i++) {
+            Object value = array.opt(i);
+            if (doubles) {
+                if (!(value instanceof Double)) {
+                    return null;
+                }
+                numbers[i] = Double.doubleToLongBits((Double) value);
+            } else if (value instanceof Integer) {
+                numbers[i] = (Integer) value;
+            } else if (value instanceof Long) {
+                long l = (Long) value;
+                if (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) {
+                    return null;
+                }
+                numbers[i] = l;
+            } else {
+                return null;
+            }
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import org.json.JSONArray;
+
+/**
+ * Pairs up the elements of two JSON arrays whose order does not matter.  Used by
+ * {@link AbstractComparator#recursivelyCompareJSONArray(String, JSONArray, JSONArray, org.skyscreamer.jsonassert.JSONCompareResult)}
+ * when the elements cannot be matched by a unique key.
+ *
+ * @see BipartiteArrayMatcher
+ */
+public interface UnorderedArrayMatcher {
+
+    /**
+     * Decides whether a single expected element matches a single actual element.
+     */
+    interface ElementMatcher {
+        /**
+         * @param expectedElement element of the expected array, {@code null} for JSON null
+         * @param actualElement   element of the actual array, {@code null} for JSON null
+         * @return true if the two elements match
+         */
+        boolean matches(Object expectedElement, Object actualElement);
+    }
+
+    /**
+     * Assigns every expected element a distinct actual element that it matches.
+     *
+     * @param expected      the expected array
+     * @param actual        the actual array
+     * @param fingerprinter fingerprints for the mode of the comparison, which implementations may use to decide
+     *                      which candidates to try first
+     * @param matcher       decides whether two elements match
+     * @return for each index of {@code expected}, the index of the actual element it was paired with, or -1 if it
+     *         could not be paired.  Implementations may stop at the first element they cannot pair, leaving the
+     *         remaining entries at -1, so callers should only rely on the lowest unpaired index.
+     */
+    int[] match(JSONArray expected, JSONArray actual, JSONFingerprinter fingerprinter, ElementMatcher matcher);
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.concurrent.Executor;
+
+/**
+ * The parts of JSONassert that depend on the Java release it runs on.
+ * <p>
+ * This is the version for Java 17 to 20, stored under {@code META-INF/versions/17} in the multi-release jar.
+ */
+final class Platform {
+    private Platform() {
+    }
+
+    /**
+     * @return the Java release this version of the class was built for
+     */
+    static int release() {
+        return 17;
+    }
+
+    /**
+     * @return an executor that runs every task in a new virtual thread, or null if the runtime has no virtual
+     *         threads, as this one has not
+     */
+    static Executor virtualThreadExecutor() {
+        return null;
+    }
+
+    /**
+     * @param type a class
+     * @return the accessors of the components of {@code type} in declaration order if it is a record, or null if it
+     *         is not
+     */
+    static Method[] recordAccessors(Class<?> type) {
+        if (!type.isRecord()) {
+            return null;
+        }
+        RecordComponent[] components = type.getRecordComponents();
+        Method[] accessors = new Method[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+        }
+        return accessors;
+    }
+}
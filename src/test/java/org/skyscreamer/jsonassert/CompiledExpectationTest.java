@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.comparator.ArraySizeComparator;
+import org.skyscreamer.jsonassert.comparator.CustomComparator;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+import org.skyscreamer.jsonassert.comparator.NumericComparison;
+
+/**
+ * Unit tests for {@link CompiledExpectation}.
+ */
+public class CompiledExpectationTest {
+    private static final String EXPECTED = "{\"id\": 1, \"name\": \"Joe\", \"tags\": [\"a\", \"b\", \"a\"],"
+            + " \"pets\": [{\"id\": 1, \"kind\": \"cat\"}, {\"id\": 2, \"kind\": \"dog\"}],"
+            + " \"matrix\": [[1, 2], [3, 4]], \"mixed\": [1, {\"a\": 2}], \"empty\": [],"
+            + " \"address\": {\"street\": \"Acacia Avenue\", \"number\": 22}}";
+
+    private static final String[] ACTUALS = {
+            EXPECTED,
+            "{\"address\": {\"number\": 22, \"street\": \"Acacia Avenue\"}, \"empty\": [], \"mixed\": [{\"a\": 2}, 1],"
+                    + " \"matrix\": [[3, 4], [1, 2]], \"pets\": [{\"kind\": \"dog\", \"id\": 2}, {\"kind\": \"cat\", \"id\": 1}],"
+                    + " \"tags\": [\"b\", \"a\", \"a\"], \"name\": \"Joe\", \"id\": 1}",
+            "{\"id\": 2, \"name\": \"Joe\", \"tags\": [\"a\", \"b\"], \"pets\": [{\"id\": 1, \"kind\": \"cow\"},"
+                    + " {\"id\": 3, \"kind\": \"dog\"}], \"matrix\": [[1, 2], [3, 5]], \"mixed\": [1, {\"a\": 3}],"
+                    + " \"empty\": [1], \"address\": {\"street\": \"Acacia Avenue\"}, \"extra\": true}",
+            "{\"id\": 1, \"name\": \"Joe\", \"tags\": [\"a\", \"b\", \"a\"], \"pets\": [{\"kind\": \"cat\"}, {\"kind\": \"dog\"}],"
+                    + " \"matrix\": {}, \"mixed\": [1, {\"a\": 2}], \"empty\": [], \"address\": null}",
+            "[1, 2]",
+    };
+
+    @Test
+    public void agreesWithComparatorInEveryMode() {
+        for (JSONCompareMode mode : JSONCompareMode.values()) {
+            CompiledExpectation compiled = CompiledExpectation.compile(EXPECTED, mode);
+            for (String actual : ACTUALS) {
+                JSONCompareResult direct = JSONCompare.compareJSON(EXPECTED, actual, mode);
+                JSONCompareResult planned = compiled.compareJSON(actual);
+                assertEquals(mode + " " + actual, direct.getMessage(), planned.getMessage());
+                assertEquals(direct.passed(), compiled.matches(actual));
+            }
+        }
+    }
+
+    @Test
+    public void appliesCustomizations() {
+        CustomComparator comparator = new CustomComparator(STRICT,
+                new Customization("**.kind", (o1, o2) -> true),
+                new Customization("**.number", (o1, o2) -> ((Integer) o1) > 20));
+        CompiledExpectation compiled = CompiledExpectation.compile(EXPECTED, comparator);
+        for (String actual : ACTUALS) {
+            assertEquals(JSONCompare.compareJSON(EXPECTED, actual, comparator).getMessage(),
+                    compiled.compareJSON(actual).getMessage());
+        }
+        assertTrue(compiled.matches(EXPECTED.replace("cat", "lion").replace("22", "23")));
+    }
+
+    @Test
+    public void comparesNumbersWithTheComparatorsTolerance() {
+        DefaultComparator comparator = new DefaultComparator(LENIENT, NumericComparison.withTolerance(0.01));
+        CompiledExpectation compiled = CompiledExpectation.compile("{\"a\": [1.0, 2.0]}", comparator);
+        String actual = "{\"a\": [2.001, 1.0]}";
+        assertTrue(JSONCompare.compareJSON("{\"a\": [1.0, 2.0]}", actual, comparator).passed());
+        assertTrue(compiled.compareJSON(actual).passed());
+        assertTrue(compiled.matches(actual));
+        assertFalse(compiled.matches("{\"a\": [2.1, 1.0]}"));
+    }
+
+    @Test
+    public void reportsDifferencesInTheComparatorsOrder() {
+        String expected = "{\"v\": [\"e\", \"b\", \"d\", \"a\", \"c\", \"b\"], \"o\": [{\"id\": 3}, {\"id\": 1}]}";
+        String actual = "{\"v\": [\"z\", \"y\", \"b\", \"x\", \"a\", \"w\"], \"o\": [{\"id\": 2}, {\"id\": 4}]}";
+        CustomComparator comparator = new CustomComparator(LENIENT, new Customization("o[id=9].id", (o1, o2) -> true));
+        assertEquals(JSONCompare.compareJSON(expected, actual, comparator).getMessage(),
+                CompiledExpectation.compile(expected, comparator).compareJSON(actual).getMessage());
+    }
+
+    @Test
+    public void usesOtherComparatorsAsTheyAre() {
+        JSONComparator comparator = new ArraySizeComparator(LENIENT);
+        CompiledExpectation compiled = CompiledExpectation.compile("{\"a\": [1, 3]}", comparator);
+        assertTrue(compiled.matches("{\"a\": [1, 2, 3]}"));
+        assertFalse(compiled.matches("{\"a\": [1, 2, 3, 4]}"));
+    }
+
+    @Test
+    public void keepsItsOwnCopyOfTheExpectedDocument() {
+        JSONObject expected = new JSONObject("{\"obj\": {\"id\": 1}}");
+        CompiledExpectation compiled = CompiledExpectation.compile(expected, new CustomComparator(LENIENT));
+        expected.getJSONObject("obj").put("id", 2);
+        assertTrue(compiled.matches(new JSONObject("{\"obj\": {\"id\": 1}}")));
+
+        JSONCompareResult result = compiled.compareJSON(new JSONObject("{\"obj\": []}"));
+        ((JSONObject) result.getFieldFailures().get(0).getExpected()).put("id", 3);
+        assertTrue(compiled.matches(new JSONObject("{\"obj\": {\"id\": 1}}")));
+    }
+
+    @Test
+    public void canBeSharedBetweenThreads() throws Exception {
+        final CompiledExpectation compiled = CompiledExpectation.compile(EXPECTED, LENIENT);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> outcomes = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 200; ++i) {
+                final String actual = ACTUALS[i % 2];
+                outcomes.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return compiled.matches(actual);
+                    }
+                }));
+            }
+            for (Future<Boolean> outcome : outcomes) {
+                assertTrue(outcome.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import static org.skyscreamer.jsonassert.JSONCompareMode.NON_EXTENSIBLE;
 import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
 import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT_ORDER;
 
+import java.io.StringReader;
 import java.util.Arrays;
 
 import org.json.JSONArray;
@@ -28,6 +29,7 @@ import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.comparator.CustomComparator;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
 import org.skyscreamer.jsonassert.comparator.JSONComparator;
 
 /**
@@ -640,6 +642,33 @@ public class JSONAssertTest {
         ));
     }
     
+    @Test
+    public void testAssertEqualsWithMaxFailures() {
+        JSONComparator comparator = new DefaultComparator(STRICT);
+        JSONAssert.assertEquals("{a:1}", "{a:1}", comparator, 1);
+        try {
+            JSONAssert.assertEquals("Message", "{a:1, b:2, c:3}", "{a:0, b:0, c:0}", comparator, 2);
+            fail("Expected an AssertionError");
+        } catch (AssertionError ae) {
+            assertTrue(ae.getMessage().startsWith("Message"));
+            assertTrue(ae.getMessage().endsWith("Comparison stopped after 2 failure(s)"));
+        }
+    }
+
+    @Test
+    public void testAssertEqualsWithReaders() {
+        JSONAssert.assertEquals(new StringReader("{id:1, tags:[1, 2]}"), new StringReader("{tags:[2, 1], id:1}"),
+                LENIENT);
+        JSONAssert.assertNotEquals(new StringReader("{id:1}"), new StringReader("{id:2}"),
+                new DefaultComparator(STRICT));
+        try {
+            JSONAssert.assertEquals("Message", new StringReader("{id:1}"), new StringReader("{id:2}"), STRICT);
+            fail("Expected an AssertionError");
+        } catch (AssertionError ae) {
+            assertTrue(ae.getMessage().startsWith("Message id"));
+        }
+    }
+
     private void testPass(String expected, String actual, JSONCompareMode compareMode)
     {
         String message = expected + " == " + actual + " (" + compareMode + ")";
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+import org.skyscreamer.jsonassert.comparator.JSONComparePath;
+
+/**
+ * Unit tests for {@link JSONBatchCompare}.
+ */
+public class JSONBatchCompareTest {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
+    @AfterClass
+    public static void shutDownExecutor() {
+        EXECUTOR.shutdown();
+    }
+
+    @Test
+    public void groupsFailuresInTheOrderOfThePairs() {
+        List<JSONComparePair> pairs = pairs(1000);
+        JSONBatchResult result = JSONBatchCompare.compareJSON(pairs.iterator(), new DefaultComparator(STRICT),
+                EXECUTOR);
+        assertEquals(1000, result.getCompared());
+        assertEquals(1000 / 97 + 1, result.getFailures().size());
+        for (int i = 0; i < result.getFailures().size(); i++) {
+            JSONBatchResult.Failure failure = result.getFailures().get(i);
+            assertEquals(i * 97, failure.getIndex());
+            assertEquals(pairs.get(i * 97), failure.getPair());
+            assertEquals(JSONCompare.compareJSON(failure.getPair().getExpected(), failure.getPair().getActual(),
+                    STRICT).getMessage(), failure.getResult().getMessage());
+        }
+    }
+
+    @Test
+    public void passesWhenEveryPairMatches() {
+        List<JSONComparePair> pairs = new ArrayList<JSONComparePair>();
+        for (int i = 0; i < 100; i++) {
+            pairs.add(JSONComparePair.of("{id:" + i + ",tags:[1,2]}", "{tags:[2,1],id:" + i + ",extra:true}"));
+        }
+        JSONBatchResult result = JSONBatchCompare.compareJSON(pairs, LENIENT);
+        assertTrue(result.passed());
+        assertEquals(100, result.getCompared());
+        assertEquals("", result.getMessage());
+        JSONAssert.assertAllEquals(pairs, LENIENT);
+    }
+
+    @Test
+    public void readsPairsLazily() {
+        final int count = 10 * JSONBatchCompare.PAIRS_PER_TASK + 3;
+        Iterator<JSONComparePair> pairs = new Iterator<JSONComparePair>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public JSONComparePair next() {
+                next++;
+                return JSONComparePair.of("[" + next + "]", "[" + next + "]");
+            }
+        };
+        JSONBatchResult result = JSONBatchCompare.compareJSON(pairs, STRICT, Runnable::run);
+        assertTrue(result.passed());
+        assertEquals(count, result.getCompared());
+    }
+
+    @Test
+    public void invalidJsonFailsItsPairOnly() {
+        List<JSONComparePair> pairs = new ArrayList<JSONComparePair>();
+        pairs.add(JSONComparePair.of("broken", "{a:1", "{a:1}"));
+        pairs.add(JSONComparePair.of("{a:1}", "{a:1}"));
+        JSONBatchResult result = JSONBatchCompare.compareJSON(pairs, STRICT);
+        assertEquals(1, result.getFailures().size());
+        assertEquals("broken", result.getFailures().get(0).getPair().getName());
+        assertTrue(result.getMessage(), result.getMessage().startsWith("1 of 2 comparisons failed\n\nbroken:\n"));
+    }
+
+    @Test
+    public void assertAllEqualsThrowsOneErrorForAllFailures() {
+        List<JSONComparePair> pairs = new ArrayList<JSONComparePair>();
+        pairs.add(JSONComparePair.of("first", "{a:1}", "{a:2}"));
+        pairs.add(JSONComparePair.of("{a:1}", "{a:1}"));
+        pairs.add(JSONComparePair.of("{b:[1,2]}", "{b:[1,3]}"));
+        try {
+            JSONAssert.assertAllEquals(pairs, new DefaultComparator(STRICT), EXECUTOR);
+            fail("Expected an AssertionError");
+        } catch (AssertionError e) {
+            String message = e.getMessage();
+            assertTrue(message, message.startsWith("2 of 3 comparisons failed\n\nfirst:\na\nExpected: 1\n     got: 2"));
+            assertTrue(message, message.contains("\n\nPair 2:\nb[1]\nExpected: 2\n     got: 3"));
+        }
+    }
+
+    @Test
+    public void spellsOutTheFirstFailuresOnly() {
+        List<JSONComparePair> pairs = new ArrayList<JSONComparePair>();
+        for (int i = 0; i < JSONBatchResult.MAX_REPORTED_FAILURES + 5; i++) {
+            pairs.add(JSONComparePair.of("[" + i + "]", "[-1]"));
+        }
+        JSONBatchResult result = JSONBatchCompare.compareJSON(pairs, STRICT);
+        assertEquals(pairs.size(), result.getFailures().size());
+        assertTrue(result.getMessage().endsWith("\n\n... and 5 more"));
+        assertFalse(result.getMessage().contains("Pair " + JSONBatchResult.MAX_REPORTED_FAILURES + ":"));
+    }
+
+    @Test
+    public void runsEveryComparisonInAVirtualThreadOnJava21() {
+        if (Platform.release() < 21) {
+            assertThrows(UnsupportedOperationException.class, JSONBatchCompare::virtualThreads);
+            return;
+        }
+        List<JSONComparePair> pairs = pairs(5000);
+        JSONBatchResult result = JSONBatchCompare.compareJSON(pairs.iterator(), new DefaultComparator(STRICT),
+                JSONBatchCompare.virtualThreads());
+        assertEquals(5000, result.getCompared());
+        assertEquals(5000 / 97 + 1, result.getFailures().size());
+        assertEquals(97, result.getFailures().get(1).getIndex());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void propagatesComparatorExceptions() {
+        List<JSONComparePair> pairs = pairs(100);
+        JSONBatchCompare.compareJSON(pairs.iterator(), new DefaultComparator(STRICT) {
+            @Override
+            public void compareJSON(JSONComparePath path, JSONObject expected, JSONObject actual,
+                                    JSONCompareResult result) {
+                throw new IllegalStateException("broken comparator");
+            }
+        }, EXECUTOR);
+    }
+
+    @Test(timeout = 10000)
+    public void comparesFromTheOnlyThreadOfItsExecutor() throws Exception {
+        List<JSONComparePair> pairs = pairs(5000);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            JSONBatchResult result = pool.submit(() -> JSONBatchCompare.compareJSON(pairs.iterator(),
+                    new DefaultComparator(STRICT), pool)).get();
+            assertEquals(5000, result.getCompared());
+            assertEquals(5000 / 97 + 1, result.getFailures().size());
+            assertEquals(97, result.getFailures().get(1).getIndex());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Every 97th pair differs.
+     */
+    private static List<JSONComparePair> pairs(int count) {
+        List<JSONComparePair> pairs = new ArrayList<JSONComparePair>();
+        for (int i = 0; i < count; i++) {
+            String expected = "{id:" + i + ",values:[" + i + "," + (i + 1) + "]}";
+            String actual = i % 97 == 0 ? "{id:" + i + ",values:[" + (i + 1) + "," + i + "]}" : expected;
+            pairs.add(JSONComparePair.of(expected, actual));
+        }
+        return pairs;
+    }
+}
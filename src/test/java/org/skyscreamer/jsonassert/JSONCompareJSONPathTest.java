@@ -20,9 +20,14 @@ import org.junit.Test;
 import org.skyscreamer.jsonassert.comparator.JSONPathComparator;
 
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
@@ -452,4 +457,37 @@ public class JSONCompareJSONPathTest {
         );
         assertTrue(result.getMessage(), result.passed());
     }
+
+    @Test
+    public void whenComparatorIsSharedBetweenThreadsThenEachComparisonUsesItsOwnDocument() throws Exception {
+        final JSONPathComparator comparator = new JSONPathComparator(JSONCompareMode.STRICT,
+                JSONPathCustomization.ofIgnore("$.store.book[*].price"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<JSONCompareResult>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final boolean priceOnly = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    DocumentContext actual = JsonPath.parse(bookStoreTemplate, CONFIG);
+                    actual.set(priceOnly ? "$.store.book[1].price" : "$.store.book[1].title", "changed");
+                    return compareJSON(bookStoreTemplate, actual.jsonString(), comparator);
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                JSONCompareResult result = results.get(i).get();
+                assertEquals(result.getMessage(), i % 2 == 0, result.passed());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void whenTopLevelIsArrayThenJsonPathIsEvaluatedAgainstIt() {
+        JSONCompareResult result = compareJSON(
+                "[{\"id\": 1, \"at\": \"noon\"}]",
+                "[{\"id\": 1, \"at\": \"midnight\"}]",
+                new JSONPathComparator(JSONCompareMode.STRICT, JSONPathCustomization.ofIgnore("$[*].at")));
+        assertTrue(result.getMessage(), result.passed());
+    }
 }
@@ -16,17 +16,26 @@ package org.skyscreamer.jsonassert;
 
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
+import static org.skyscreamer.jsonassert.JSONCompare.matches;
 import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
 import static org.skyscreamer.jsonassert.JSONCompareMode.NON_EXTENSIBLE;
 import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
+import org.json.JSONObject;
 import org.junit.Test;
 import org.junit.internal.matchers.TypeSafeMatcher;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
 
 /**
  * Unit tests for {@code JSONCompare}.
@@ -185,6 +194,112 @@ public class JSONCompareTest {
         assertThat(result, failsWithMessage(equalTo("[0]\nExpected: null\n     got: 3\n")));
     }
 
+    @Test
+    public void matchesReportsOutcomeOnly() {
+        assertTrue(matches("{\"id\": 3, \"tags\": [1, 2]}", "{\"tags\": [2, 1], \"id\": 3}", LENIENT));
+        assertFalse(matches("{\"id\": 3}", "{\"id\": 5}", LENIENT));
+        assertFalse(matches("{\"obj\": {}}", "{\"obj\": {\"id\": 3}}", NON_EXTENSIBLE));
+        assertFalse(matches("[1, 2]", "[2, 1]", STRICT));
+        assertFalse(matches("{}", "[]", LENIENT));
+    }
+
+    @Test
+    public void failFastResultKeepsNoFailureDetails() {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        new DefaultComparator(STRICT).compareJSON("", new JSONObject("{a:1, b:2, c:3}"),
+                new JSONObject("{a:0, b:0, c:0, d:0}"), result);
+        assertTrue(result.failed());
+        assertTrue(result.shouldStop());
+        assertEquals("", result.getMessage());
+        assertTrue(result.getFieldFailures().isEmpty());
+        assertTrue(result.getFieldUnexpected().isEmpty());
+    }
+
+    @Test
+    public void rendersMessageInReportingOrder() {
+        JSONCompareResult result = new JSONCompareResult();
+        result.missing("a", 1);
+        result.fail("plain");
+        result.unexpected("b", new JSONObject());
+        result.fail("c", 2, 3);
+        String message = "a\nExpected: 1\n     but none found\n ; plain ; b\nUnexpected: a JSON object\n ; "
+                + "c\nExpected: 2\n     got: 3\n";
+        assertEquals(message, result.getMessage());
+        assertEquals(message, result.toString());
+        result.fail("d");
+        assertEquals(message + " ; d", result.getMessage());
+        assertEquals(1, result.getFieldFailures().size());
+    }
+
+    @Test
+    public void stopsAfterMaxFailures() {
+        DefaultComparator comparator = new DefaultComparator(NON_EXTENSIBLE);
+        JSONCompareResult result = compareJSON("{a:1, b:2, c:3}", "{a:0, b:0, c:0, d:0}", comparator, 2);
+        assertTrue(result.failed());
+        assertTrue(result.isTruncated());
+        assertEquals(2, result.getFieldFailures().size());
+        assertTrue(result.getFieldUnexpected().isEmpty());
+        assertTrue(result.getMessage().endsWith(" ; Comparison stopped after 2 failure(s)"));
+
+        result = compareJSON("{a:1, b:2}", "{a:0, b:0}", new DefaultComparator(LENIENT), 2);
+        assertEquals(2, result.getFieldFailures().size());
+        assertFalse(result.isTruncated());
+        assertFalse(compareJSON("[1, 2]", "[1, 2]", comparator, 1).isTruncated());
+    }
+
+    @Test
+    public void rejectsCapsBelowOneWhateverTheDocuments() {
+        DefaultComparator comparator = new DefaultComparator(STRICT);
+        for (String document : new String[] {"{a:1}", "[1]", "\"a\"", "1"}) {
+            assertThrows(document, IllegalArgumentException.class,
+                    () -> compareJSON(document, document, comparator, 0));
+        }
+        assertTrue(compareJSON("\"a\"", "\"b\"", comparator, 1).failed());
+        assertTrue(compareJSON("{a:1}", "[1]", comparator, 1).failed());
+    }
+
+    @Test
+    public void reportsTheSameFailuresInAnyKeyOrder() {
+        JSONObject expected = new JSONObject("{z:1, y:{x:2, w:3}, v:4, u:5}");
+        JSONObject actual = new JSONObject("{z:0, y:{x:0, w:3, t:6}, u:5, s:7}");
+        DefaultComparator comparator = new DefaultComparator(STRICT);
+
+        JSONCompareResult sorted = new JSONCompareResult();
+        assertTrue(sorted.isDeterministic());
+        comparator.compareJSON("", expected, actual, sorted);
+        assertEquals("y.x", sorted.getFieldFailures().get(0).getField());
+        assertEquals("z", sorted.getFieldFailures().get(1).getField());
+
+        JSONCompareResult unsorted = new JSONCompareResult().setDeterministic(false);
+        comparator.compareJSON("", expected, actual, unsorted);
+        assertEquals(fields(sorted.getFieldFailures()), fields(unsorted.getFieldFailures()));
+        assertEquals(fields(sorted.getFieldMissing()), fields(unsorted.getFieldMissing()));
+        assertEquals(fields(sorted.getFieldUnexpected()), fields(unsorted.getFieldUnexpected()));
+        assertFalse(JSONCompareResult.failFast().isDeterministic());
+    }
+
+    @Test
+    public void reconcilesKeysInNonExtensibleModes() {
+        JSONCompareResult result = compareJSON("{a:1, b:2, c:3}", "{b:2, c:0, d:4, e:5}", NON_EXTENSIBLE);
+        assertEquals("a", result.getFieldMissing().get(0).getExpected());
+        assertEquals("c", result.getFieldFailures().get(0).getField());
+        assertEquals(2, result.getFieldUnexpected().size());
+        assertEquals("d", result.getFieldUnexpected().get(0).getActual());
+
+        result = compareJSON("{a:1, b:2, c:null}", "{b:2, c:null}", STRICT);
+        assertEquals(1, result.getFieldMissing().size());
+        assertTrue(result.getFieldUnexpected().isEmpty());
+        assertTrue(compareJSON("{a:null, b:[]}", "{b:[], a:null}", STRICT).passed());
+    }
+
+    private static Set<String> fields(List<FieldComparisonFailure> failures) {
+        Set<String> fields = new HashSet<String>();
+        for (FieldComparisonFailure failure : failures) {
+            fields.add(failure.getField() + "=" + failure.getExpected() + "/" + failure.getActual());
+        }
+        return fields;
+    }
+
     private Matcher<JSONCompareResult> failsWithMessage(final Matcher<String> expectedMessage) {
         return new TypeSafeMatcher<JSONCompareResult>() {
             @Override
@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONString;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the {@code Reader}, {@code InputStream}, {@code Path} and {@code ByteBuffer} sources of
+ * {@link JSONParser} and {@link JSONCompare}.
+ */
+public class JSONParserTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parsesObjectsAndArraysFromReader() {
+        JSONObject object = (JSONObject) JSONParser.parseJSON(new StringReader("  {\"id\": 1, \"tags\": [\"a\"]}"));
+        assertEquals(1, object.getInt("id"));
+        JSONArray array = (JSONArray) JSONParser.parseJSON(new StringReader("[1, 2]"));
+        assertEquals(2, array.length());
+    }
+
+    @Test
+    public void parsesScalarsFromReaderAsFromString() {
+        JSONString string = (JSONString) JSONParser.parseJSON(new StringReader(" \"abc\""));
+        assertEquals(" \"abc\"", string.toJSONString());
+        assertEquals("12.5", ((JSONString) JSONParser.parseJSON(new StringReader("12.5"))).toJSONString());
+    }
+
+    @Test(expected = JSONException.class)
+    public void rejectsUnparsableReaderInput() {
+        JSONParser.parseJSON(new StringReader("not json"));
+    }
+
+    @Test
+    public void parsesUtf8InputStream() {
+        String json = "{\"name\": \"Zo\u00eb\"}";
+        JSONObject object = (JSONObject) JSONParser.parseJSON(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Zo\u00eb", object.getString("name"));
+    }
+
+    @Test
+    public void leavesByteBufferPositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.wrap("xx[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+        assertEquals(3, ((JSONArray) JSONParser.parseJSON(buffer)).length());
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void parsesFilesWithAndWithoutMapping() throws IOException {
+        Path path = write("{\"id\": 1, \"tags\": [\"a\", \"b\"]}");
+        assertEquals(1, ((JSONObject) JSONParser.parseJSON(path)).getInt("id"));
+        assertEquals(1, ((JSONObject) JSONParser.parseJSON(path, true)).getInt("id"));
+    }
+
+    @Test
+    public void comparesSources() throws IOException {
+        String expected = "{\"id\": 1, \"tags\": [\"a\", \"b\"]}";
+        String actual = "{\"tags\": [\"b\", \"a\"], \"id\": 1}";
+        assertTrue(JSONCompare.compareJSON(new StringReader(expected), new StringReader(actual), LENIENT).passed());
+        assertTrue(JSONCompare.compareJSON(write(expected), write(actual), STRICT).failed());
+        assertTrue(JSONCompare.matches(utf8(expected), utf8(actual), LENIENT));
+        assertEquals("tags[0]\nExpected: a\n     got: b\n ; tags[1]\nExpected: b\n     got: a\n",
+                JSONCompare.compareJSON(utf8(expected), utf8(actual), STRICT).getMessage());
+    }
+
+    private Path write(String json) throws IOException {
+        File file = folder.newFile();
+        return Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer utf8(String json) {
+        return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
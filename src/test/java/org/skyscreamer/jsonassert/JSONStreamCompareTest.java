@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.NON_EXTENSIBLE;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT_ORDER;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link JSONStreamCompare}.
+ */
+public class JSONStreamCompareTest {
+    private static final String[][] PAIRS = {
+            {"{\"id\": 1, \"name\": \"Joe\"}", "{\"id\": 1, \"name\": \"Joe\"}"},
+            {"{\"id\": 1, \"name\": \"Joe\"}", "{\"name\": \"Joe\", \"id\": 1}"},
+            {"{\"id\": 1, \"name\": \"Joe\"}", "{\"id\": 1.0, \"name\": \"Joe\", \"age\": 3}"},
+            {"{\"id\": 1, \"name\": \"Joe\"}", "{\"id\": 2, \"name\": null}"},
+            {"{\"a\": {\"b\": [1, 2, {\"c\": 3}]}}", "{\"a\": {\"b\": [1, 2, {\"c\": 4}]}}"},
+            {"{\"a\": {\"b\": [1, 2, 3]}}", "{\"a\": {\"b\": [3, 2, 1]}}"},
+            {"{\"a\": [1, 2, 3]}", "{\"a\": [1, 9, 3, 4]}"},
+            {"{\"a\": [[1, 2], [3]]}", "{\"a\": [[1, 2], [4]]}"},
+            {"{\"a\": [1, , 3]}", "{\"a\": [1, null, 3]}"},
+            {"{\"a\": {}, \"b\": []}", "{\"a\": [], \"b\": {}}"},
+            {"{\"a\": 1, \"b\": 2, \"c\": 3}", "{\"a\": 1, \"c\": 3, \"d\": 4}"},
+            {"[{\"id\": 1}, {\"id\": 2}]", "[{\"id\": 2}, {\"id\": 1}]"},
+            {"[1, \"x\", true]", "[1, \"x\", false]"},
+            {"{\"a\": 1}", "[1]"},
+    };
+
+    @Test
+    public void agreesWithTreeComparison() {
+        for (JSONCompareMode mode : JSONCompareMode.values()) {
+            for (String[] pair : PAIRS) {
+                JSONCompareResult tree = JSONCompare.compareJSON(pair[0], pair[1], mode);
+                JSONCompareResult stream = JSONStreamCompare.compareJSON(new StringReader(pair[0]),
+                        new StringReader(pair[1]), mode);
+                String description = mode + " " + Arrays.toString(pair);
+                assertEquals(description, tree.passed(), stream.passed());
+                assertEquals(description, failures(tree), failures(stream));
+                assertEquals(description, tree.passed(),
+                        JSONStreamCompare.matches(new StringReader(pair[0]), new StringReader(pair[1]), mode));
+            }
+        }
+    }
+
+    @Test
+    public void reportsOnlyLengthOfStrictArraysOfDifferentLength() {
+        JSONCompareResult result = JSONStreamCompare.compareJSON(new StringReader("{\"a\": [1, 2]}"),
+                new StringReader("{\"a\": [3, 4, 5]}"), STRICT_ORDER);
+        assertEquals("a[]: Expected 2 values but got 3", result.getMessage());
+    }
+
+    @Test
+    public void reportsMissingAndUnexpectedKeysOnceOrdersDiverge() {
+        JSONCompareResult result = JSONStreamCompare.compareJSON(new StringReader("{\"a\": 1, \"b\": 2}"),
+                new StringReader("{\"a\": 1, \"c\": 2}"), NON_EXTENSIBLE);
+        assertEquals(1, result.getFieldMissing().size());
+        assertEquals(1, result.getFieldUnexpected().size());
+    }
+
+    @Test
+    public void stopsReadingAtFirstDifferenceWhenFailingFast() {
+        assertFalse(JSONStreamCompare.matches(new StringReader("{\"a\": 1, \"b\": [1, 2]}"),
+                new StringReader("{\"a\": 2, \"b\": [1, <not json"), STRICT));
+    }
+
+    @Test
+    public void honoursFailureCap() {
+        JSONCompareResult result = new JSONCompareResult(1);
+        JSONStreamCompare.compareJSON(new StringReader("[1, 2, 3]"), new StringReader("[4, 5, 6]"), STRICT, result);
+        assertEquals(1, result.getFieldFailures().size());
+        assertTrue(result.isTruncated());
+    }
+
+    @Test
+    public void countsFailuresBeforeAnArrayTowardsTheCap() {
+        JSONCompareResult result = new JSONCompareResult(3);
+        JSONStreamCompare.compareJSON(new StringReader("{\"a\": 1, \"b\": 2, \"c\": [1, 2, 3]}"),
+                new StringReader("{\"a\": 9, \"b\": 9, \"c\": [4, 5, 6]}"), STRICT, result);
+        assertEquals(3, result.getFieldFailures().size());
+        assertEquals("c[0]", result.getFieldFailures().get(2).getField());
+        assertTrue(result.isTruncated());
+    }
+
+    @Test
+    public void keepsTheOrderOfFailuresInsideArrays() {
+        // "zz" comes before "a" in the key set of a JSONObject, but after it once keys are sorted
+        String object = "{\"a\": 1, \"zz\": 1}";
+        JSONCompareResult outside = new JSONCompareResult().setDeterministic(false);
+        JSONStreamCompare.compareJSON(new StringReader(object), new StringReader("{\"q\": 1}"), STRICT, outside);
+        JSONCompareResult inside = new JSONCompareResult().setDeterministic(false);
+        JSONStreamCompare.compareJSON(new StringReader("[" + object + "]"), new StringReader("[{\"q\": 1}]"),
+                STRICT, inside);
+        assertEquals(missingKeys(outside), missingKeys(inside));
+    }
+
+    private static String missingKeys(JSONCompareResult result) {
+        StringBuilder keys = new StringBuilder();
+        for (FieldComparisonFailure failure : result.getFieldMissing()) {
+            keys.append(failure.getExpected()).append(' ');
+        }
+        return keys.toString();
+    }
+
+    @Test
+    public void readsStreamsAsUtf8() {
+        assertTrue(JSONStreamCompare.compareJSON(utf8("{\"name\": \"Zo\u00eb\"}"), utf8("{\"name\": \"Zo\u00eb\"}"),
+                LENIENT).passed());
+    }
+
+    private static ByteArrayInputStream utf8(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<String> failures(JSONCompareResult result) {
+        return new HashSet<String>(Arrays.asList(result.getMessage().split(" ; ")));
+    }
+}
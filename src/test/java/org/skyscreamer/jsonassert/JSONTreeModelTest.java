@@ -0,0 +1,187 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.comparator.CustomComparator;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+import org.skyscreamer.jsonassert.comparator.JSONPathComparator;
+import org.skyscreamer.jsonassert.comparator.ParallelComparator;
+
+/**
+ * Unit tests for {@link JSONTreeModel} and the views the comparators read trees through.
+ */
+public class JSONTreeModelTest {
+    private static final String[][] DOCUMENTS = {
+            {"{id:1,name:\"Joe\",tags:[\"a\",\"b\"]}", "{id:1,name:\"Joe\",tags:[\"b\",\"a\"]}"},
+            {"{id:1,name:\"Joe\"}", "{id:1,name:\"Jo\",extra:null}"},
+            {"{a:{b:[1,2.5,3]}}", "{a:{b:[3,2.5,1]}}"},
+            {"{a:{b:[1,2.5,3]}}", "{a:{b:[1,2.50,4]}}"},
+            {"[{id:1,v:\"x\"},{id:2,v:\"y\"}]", "[{id:2,v:\"y\"},{id:1,v:\"z\"}]"},
+            {"[[1,2],[3,4]]", "[[4,3],[2,1]]"},
+            {"[{a:1},{a:[1,{b:null}]}]", "[{a:[1,{b:null}]},{a:1}]"},
+            {"{a:null,b:true,c:12345678901}", "{a:0,b:\"true\",c:12345678901}"},
+            {"{a:[]}", "{a:{}}"},
+    };
+
+    @Test
+    public void comparesTreesAsIfTheyHadBeenParsed() {
+        for (JSONCompareMode mode : JSONCompareMode.values()) {
+            for (String[] document : DOCUMENTS) {
+                Object tree = toJavaUtil(JSONParser.parseJSON(document[1]));
+                JSONCompareResult expected = JSONCompare.compareJSON(document[0], document[1], mode);
+                JSONCompareResult actual = JSONCompare.compareJSON(document[0], tree, JSONTreeModel.JAVA_UTIL, mode);
+                assertEquals(document[1] + " in " + mode, expected.getMessage(), actual.getMessage());
+                assertEquals(expected.passed(), JSONCompare.matches(document[0], tree, JSONTreeModel.JAVA_UTIL,
+                        new CustomComparator(mode)));
+            }
+        }
+    }
+
+    @Test
+    public void comparesTwoTrees() {
+        Object expected = toJavaUtil(JSONParser.parseJSON(DOCUMENTS[4][0]));
+        Object actual = toJavaUtil(JSONParser.parseJSON(DOCUMENTS[4][1]));
+        assertEquals(JSONCompare.compareJSON(DOCUMENTS[4][0], DOCUMENTS[4][1], LENIENT).getMessage(),
+                JSONCompare.compareJSON(expected, actual, JSONTreeModel.JAVA_UTIL, LENIENT).getMessage());
+        assertTrue(JSONCompare.compareJSON(actual, actual, JSONTreeModel.JAVA_UTIL, STRICT).passed());
+    }
+
+    @Test
+    public void readsNumbersTheWayOrgJsonParsesThem() {
+        Map<String, Object> tree = new LinkedHashMap<String, Object>();
+        tree.put("byte", (byte) 1);
+        tree.put("short", (short) 2);
+        tree.put("long", 3L);
+        tree.put("bigLong", 12345678901L);
+        tree.put("bigInteger", BigInteger.valueOf(4));
+        tree.put("double", 1.5);
+        tree.put("float", 0.1f);
+        tree.put("negativeZero", -0.0);
+        tree.put("char", 'c');
+        tree.put("enum", JSONCompareMode.STRICT);
+        tree.put("builder", new StringBuilder("text"));
+        tree.put("ints", new int[] {1, 2});
+        JSONAssert.assertEquals("{byte:1,short:2,long:3,bigLong:12345678901,bigInteger:4,double:1.5,float:0.1,"
+                + "negativeZero:-0.0,char:\"c\",enum:\"STRICT\",builder:\"text\",ints:[1,2]}",
+                tree, JSONTreeModel.JAVA_UTIL, STRICT);
+    }
+
+    @Test
+    public void acceptsOrgJsonValuesInsideTrees() {
+        Map<String, Object> tree = new HashMap<String, Object>();
+        tree.put("object", new JSONObject("{a:1}"));
+        tree.put("array", Arrays.asList(new JSONArray("[1,2]"), Collections.singletonMap("b", null)));
+        JSONAssert.assertEquals("{object:{a:1},array:[[1,2],{b:null}]}", tree, JSONTreeModel.JAVA_UTIL, STRICT);
+        JSONObject parsed = new JSONObject("{a:[1,{b:2}]}");
+        assertTrue(JSONCompare.compareJSON(parsed, new JSONObject(parsed.toString()), JSONTreeModel.ORG_JSON,
+                STRICT).passed());
+    }
+
+    @Test
+    public void worksWithComparatorsThatRelyOnIdentity() {
+        Object tree = toJavaUtil(JSONParser.parseJSON("{items:[{id:1,v:\"x\"},{id:2,v:\"y\"}],ts:123}"));
+        String expected = "{items:[{id:2,v:\"y\"},{id:1,v:\"x\"}],ts:456}";
+        JSONComparator comparator = new JSONPathComparator(LENIENT, JSONPathCustomization.ofIgnore("$.ts"));
+        JSONAssert.assertEquals(expected, tree, JSONTreeModel.JAVA_UTIL, comparator);
+        JSONCompareResult result = JSONCompare.compareJSON("{items:[{id:2,v:\"y\"},{id:1,v:\"z\"}],ts:456}", tree,
+                JSONTreeModel.JAVA_UTIL, comparator);
+        assertEquals(JSONCompare.compareJSON("{items:[{id:2,v:\"y\"},{id:1,v:\"z\"}],ts:456}",
+                "{items:[{id:1,v:\"x\"},{id:2,v:\"y\"}],ts:123}", comparator).getMessage(), result.getMessage());
+    }
+
+    @Test
+    public void canBeComparedInParallel() {
+        List<Object> items = new ArrayList<Object>();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            items.add(Collections.singletonMap("id", i));
+            expected.append(i == 0 ? "" : ",").append("{id:").append(999 - i).append('}');
+        }
+        expected.append(']');
+        ParallelComparator comparator = new ParallelComparator(LENIENT, ForkJoinPool.commonPool(), 16);
+        JSONAssert.assertEquals(expected.toString(), items, JSONTreeModel.JAVA_UTIL, comparator);
+    }
+
+    @Test
+    public void viewsReadTheTreeAndAreReadOnly() {
+        Map<String, Object> tree = new LinkedHashMap<String, Object>();
+        tree.put("a", Arrays.asList(1, "x", null));
+        tree.put("b", null);
+        JSONObject view = (JSONObject) JSONTreeView.of(JSONTreeModel.JAVA_UTIL, tree);
+        assertEquals("{\"a\":[1,\"x\",null],\"b\":null}", view.toString());
+        assertSame(view.get("a"), view.get("a"));
+        assertTrue(view.has("b"));
+        assertTrue(view.isNull("b"));
+        assertFalse(view.has("c"));
+        assertTrue(view.similar(new JSONObject("{a:[1,\"x\",null],b:null}")));
+        assertThrows(UnsupportedOperationException.class, () -> view.put("c", 1));
+        assertThrows(UnsupportedOperationException.class, () -> view.getJSONArray("a").put(2));
+    }
+
+    @Test
+    public void rejectsValuesThatAreNotJson() {
+        Map<Object, Object> numericKeys = new HashMap<Object, Object>();
+        numericKeys.put(1, "one");
+        assertThrows(IllegalArgumentException.class,
+                () -> JSONCompare.compareJSON("{}", numericKeys, JSONTreeModel.JAVA_UTIL, LENIENT));
+        assertThrows(IllegalArgumentException.class, () -> JSONCompare.compareJSON("{a:1}",
+                Collections.singletonMap("a", new Object()), JSONTreeModel.JAVA_UTIL, LENIENT));
+    }
+
+    /**
+     * Converts parsed JSON to the maps and lists a JSON library produces for untyped targets.
+     */
+    private static Object toJavaUtil(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            Map<String, Object> map = new LinkedHashMap<String, Object>();
+            for (Iterator<String> keys = object.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                map.put(key, toJavaUtil(object.get(key)));
+            }
+            return map;
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            List<Object> list = new ArrayList<Object>();
+            for (int i = 0; i < array.length(); i++) {
+                list.add(toJavaUtil(array.get(i)));
+            }
+            return list;
+        }
+        return JSONObject.NULL.equals(value) ? null : value;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.comparator.CustomComparator;
+
+/**
+ * Unit tests for {@link JSONTreeModel#OBJECTS}.
+ */
+public class ObjectTreeModelTest {
+    private static final String ORDER = "{id:7,customer:{name:\"Ann\",active:true,URL:\"http://a\",nickname:null},"
+            + "lines:[{sku:\"b\",quantity:2,price:1.5},{sku:\"a\",quantity:1,price:10.25}],"
+            + "totals:{NET:12,GROSS:14.5},tags:[\"x\",\"y\"],codes:[3,1],"
+            + "reference:\"00000000-0000-0007-0000-000000000007\",status:\"OPEN\",note:\"gift\","
+            + "discount:null}";
+
+    @Test
+    public void comparesBeansAsIfTheyHadBeenSerialized() {
+        for (JSONCompareMode mode : JSONCompareMode.values()) {
+            assertTrue(mode.toString(), JSONCompare.compareJSON(ORDER, order(), JSONTreeModel.OBJECTS, mode).passed());
+            String other = ORDER.replace("quantity:2", "quantity:3").replace("[3,1]", "[1,3]");
+            assertEquals(mode.toString(), JSONCompare.compareJSON(other, ORDER, mode).getMessage(),
+                    JSONCompare.compareJSON(other, order(), JSONTreeModel.OBJECTS, mode).getMessage());
+        }
+    }
+
+    @Test
+    public void appliesCustomizations() {
+        String expected = ORDER.replace("id:7", "id:0").replace("sku:\"a\"", "sku:\"?\"");
+        CustomComparator comparator = new CustomComparator(LENIENT,
+                new Customization("id", (o1, o2) -> true),
+                new Customization("**.sku", (o1, o2) -> true));
+        JSONAssert.assertEquals(expected, order(), JSONTreeModel.OBJECTS, comparator);
+    }
+
+    @Test
+    public void iteratesCollectionsOnce() {
+        final int[] reads = new int[1];
+        final List<Integer> values = new ArrayList<Integer>();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            values.add(i);
+            expected.append(i == 0 ? "" : ",").append(i);
+        }
+        Collection<Integer> collection = new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                final Iterator<Integer> iterator = values.iterator();
+                return new Iterator<Integer>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Integer next() {
+                        reads[0]++;
+                        return iterator.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+        };
+        JSONAssert.assertEquals(expected.append("]").toString(), Optional.of(collection), JSONTreeModel.OBJECTS,
+                STRICT);
+        assertEquals(values.size(), reads[0]);
+    }
+
+    @Test
+    public void cachesThePropertiesOfEachClass() {
+        Customer customer = new Customer("Ann", true);
+        assertEquals(Arrays.asList("URL", "active", "name", "nickname"),
+                new ArrayList<String>(JSONTreeModel.OBJECTS.keys(customer)));
+        assertSame(JSONTreeModel.OBJECTS.keys(customer), JSONTreeModel.OBJECTS.keys(new Customer("Bob", false)));
+    }
+
+    @Test
+    public void readsRecordComponents() throws Exception {
+        Assume.assumeTrue("Records are recognized on Java 17 and later", Platform.release() >= 17);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeTrue("No compiler available", compiler != null);
+        File directory = Files.createTempDirectory("records").toFile();
+        File source = new File(directory, "Point.java");
+        Files.write(source.toPath(), "public record Point(int y, String label, Point next) {}"
+                .getBytes(StandardCharsets.US_ASCII));
+        assertEquals(0, compiler.run(null, null, null, source.getPath()));
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {directory.toURI().toURL()})) {
+            Class<?> point = loader.loadClass("Point");
+            Object last = point.getConstructors()[0].newInstance(2, "b", null);
+            Object first = point.getConstructors()[0].newInstance(1, "a", last);
+            JSONAssert.assertEquals("{y:1,label:\"a\",next:{y:2,label:\"b\",next:null}}", first,
+                    JSONTreeModel.OBJECTS, STRICT);
+            assertEquals(Arrays.asList("y", "label", "next"), new ArrayList<String>(JSONTreeModel.OBJECTS.keys(first)));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void deleteRecursively(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        Files.delete(file.toPath());
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.id = 7;
+        order.customer = new Customer("Ann", true);
+        order.lines = Arrays.asList(new Line("b", 2, 1.5), new Line("a", 1, 10.25));
+        order.totals = new EnumMap<Total, Number>(Total.class);
+        order.totals.put(Total.NET, 12L);
+        order.totals.put(Total.GROSS, 14.5f);
+        order.tags = new LinkedHashSet<String>(Arrays.asList("x", "y"));
+        order.codes = new int[] {3, 1};
+        order.reference = new UUID(7, 7);
+        order.status = Status.OPEN;
+        order.note = Optional.of("gift");
+        order.discount = Optional.empty();
+        return order;
+    }
+
+    private enum Status { OPEN }
+
+    private enum Total { NET, GROSS }
+
+    private static class Order {
+        public int id;
+        public Customer customer;
+        public List<Line> lines;
+        public Map<Total, Number> totals;
+        public LinkedHashSet<String> tags;
+        public int[] codes;
+        public UUID reference;
+        public Status status;
+        public Optional<String> note;
+        public Optional<Double> discount;
+    }
+
+    private static class Customer {
+        private final String name;
+        private final boolean active;
+
+        Customer(String name, boolean active) {
+            this.name = name;
+            this.active = active;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public String getURL() {
+            return "http://a";
+        }
+
+        public String getNickname() {
+            return null;
+        }
+
+        public static String getIgnored() {
+            return "static";
+        }
+    }
+
+    private static class Line {
+        private final String sku;
+        private final int quantity;
+        private final double price;
+
+        Line(String sku, int quantity, double price) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ParsedJSONCache}.
+ */
+public class ParsedJSONCacheTest {
+    @After
+    public void removeCache() {
+        JSONCompare.setParsedExpectedCache(null);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedDocument() {
+        ParsedJSONCache cache = new ParsedJSONCache(2);
+        Object a = cache.parse("{\"a\": 1}");
+        cache.parse("{\"b\": 1}");
+        assertSame(a, cache.parse(new String("{\"a\": 1}")));
+        cache.parse("{\"c\": 1}");
+        assertEquals(2, cache.size());
+        assertSame(a, cache.parse("{\"a\": 1}"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        cache.parse("{\"b\": 1}");
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyCapacity() {
+        new ParsedJSONCache(0);
+    }
+
+    @Test
+    public void comparisonsByModeUseInstalledCache() {
+        ParsedJSONCache cache = new ParsedJSONCache(8);
+        JSONCompare.setParsedExpectedCache(cache);
+        String expected = "{\"id\": 1, \"tags\": [1, 2]}";
+        assertTrue(JSONCompare.compareJSON(expected, "{\"tags\": [2, 1], \"id\": 1}", LENIENT).passed());
+        assertFalse(JSONCompare.matches(expected, "{\"tags\": [2, 1], \"id\": 1}", STRICT));
+        JSONAssert.assertEquals(expected, new JSONObject("{\"id\": 1, \"tags\": [1, 2]}"), STRICT);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void failuresDoNotExposeCachedDocuments() {
+        ParsedJSONCache cache = new ParsedJSONCache(8);
+        JSONCompare.setParsedExpectedCache(cache);
+        String expected = "{\"obj\": {\"id\": 1}}";
+        JSONCompareResult result = JSONCompare.compareJSON(expected, "{\"obj\": []}", LENIENT);
+        assertTrue(result.failed());
+        Object reported = result.getFieldFailures().get(0).getExpected();
+        assertNotSame(((JSONObject) cache.parse(expected)).get("obj"), reported);
+        ((JSONObject) reported).put("id", 2);
+        assertTrue(JSONCompare.compareJSON(expected, "{\"obj\": {\"id\": 1}}", LENIENT).passed());
+    }
+}
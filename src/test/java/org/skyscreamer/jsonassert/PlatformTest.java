@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+
+import org.junit.Test;
+
+/**
+ * Checks that the version of {@link Platform} in use matches the runtime.  From the multi-release jar, as the
+ * tests are run by {@code mvn verify} on JDK 17 and later, that is a version for Java 17 or later.
+ */
+public class PlatformTest {
+
+    @Test
+    public void matchesTheRuntime() {
+        int runtime = runtimeRelease();
+        assertTrue(Platform.release() <= runtime);
+        URL location = Platform.class.getResource("Platform.class");
+        if ("jar".equals(location.getProtocol()) && runtime >= 17) {
+            assertTrue(location.toString(), Platform.release() >= 17);
+            assertTrue(location.toString(), location.toString().contains("/META-INF/versions/"));
+        } else if (!"jar".equals(location.getProtocol())) {
+            assertEquals(8, Platform.release());
+        }
+    }
+
+    private static int runtimeRelease() {
+        String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+}
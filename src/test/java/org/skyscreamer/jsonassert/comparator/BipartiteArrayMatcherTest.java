@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.NON_EXTENSIBLE;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.Customization;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+/**
+ * Unit tests for {@link BipartiteArrayMatcher}.
+ */
+public class BipartiteArrayMatcherTest {
+    private final BipartiteArrayMatcher matcher = new BipartiteArrayMatcher();
+
+    @Test
+    public void pairsEqualElementsRegardlessOfOrder() {
+        int[] matches = matcher.match(new JSONArray("[1, 2, 3]"), new JSONArray("[3, 1, 2]"),
+                new JSONFingerprinter(LENIENT), (expected, actual) -> expected.equals(actual));
+        assertArrayEquals(new int[] {1, 2, 0}, matches);
+    }
+
+    @Test
+    public void reassignsElementsClaimedByAnEarlierExpectedElement() {
+        // expected[0] could take either actual element, expected[1] only the first one
+        JSONCompareResult result = compareJSON("[{a:1}, {a:1, b:2}]", "[{a:1, b:2}, {a:1, c:3}]", LENIENT);
+        assertTrue(result.getMessage(), result.passed());
+    }
+
+    @Test
+    public void findsMatchingsWhateverTheOrderOfActualElements() {
+        // Trying an actual element that does not match must not rule it out for the rest of the augmenting search
+        CustomComparator comparator = new CustomComparator(LENIENT, new Customization("b", (x, y) -> true));
+        String expected = "[{\"b\":1},{\"a\":1,\"b\":3},5]";
+        JSONCompareResult result = compareJSON(expected, "[{\"b\":2},{\"a\":1,\"b\":1},5]", comparator);
+        assertTrue(result.getMessage(), result.passed());
+        result = compareJSON(expected, "[{\"a\":1,\"b\":1},{\"b\":2},5]", comparator);
+        assertTrue(result.getMessage(), result.passed());
+
+        DefaultComparator tolerant = new DefaultComparator(LENIENT, NumericComparison.withTolerance(0.5));
+        result = compareJSON("[{b:1},{a:1,b:1.3},5]", "[{b:1.2},{a:1,b:1},5]", tolerant);
+        assertTrue(result.getMessage(), result.passed());
+    }
+
+    @Test
+    public void reportsFirstElementWithoutMatch() {
+        JSONCompareResult result = compareJSON("[{a:1, b:1}, {a:1, b:2}, {a:2, b:1}]",
+                "[{a:2, b:1}, {a:1, b:3}, {a:1, b:1}]", NON_EXTENSIBLE);
+        assertTrue(result.failed());
+        assertTrue(result.getMessage(), result.getMessage().startsWith("[1] Could not find match for element"));
+    }
+
+    @Test
+    public void matchesLargeArraysOfEqualObjectsInNonExtensibleMode() {
+        int size = 5000;
+        JSONArray expected = new JSONArray();
+        JSONArray actual = new JSONArray();
+        for (int i = 0; i < size; i++) {
+            expected.put(new JSONObject().put("group", i / 2).put("tags", new JSONArray().put("x").put(i % 3)));
+            actual.put(new JSONObject().put("group", (size - 1 - i) / 2)
+                    .put("tags", new JSONArray().put((size - 1 - i) % 3).put("x")));
+        }
+        actual.getJSONObject(size - 1).put("group", -1);
+        JSONCompareResult result = new DefaultComparator(NON_EXTENSIBLE).compareJSON(expected, actual);
+        assertTrue(result.failed());
+    }
+
+    @Test
+    public void nullsAreOnlyPairedOnce() {
+        JSONArray expected = new JSONArray("[null, null, {a:1}]");
+        JSONArray actual = new JSONArray("[null, {a:1}, {a:1}]");
+        JSONCompareResult result = new DefaultComparator(LENIENT).compareJSON(expected, actual);
+        assertTrue(result.failed());
+    }
+
+    @Test
+    public void matchesLargeArraysOfExtendedObjects() {
+        int size = 5000;
+        JSONArray expected = new JSONArray();
+        JSONArray actual = new JSONArray();
+        for (int i = 0; i < size; i++) {
+            // no unique key: every value appears twice
+            expected.put(new JSONObject().put("group", i / 2).put("tags", new JSONArray().put("x")));
+            actual.put(new JSONObject().put("group", (size - 1 - i) / 2).put("tags", new JSONArray().put("x"))
+                    .put("extra", i));
+        }
+        JSONCompareResult result = new DefaultComparator(LENIENT).compareJSON(expected, actual);
+        assertTrue(result.getMessage(), result.passed());
+    }
+}
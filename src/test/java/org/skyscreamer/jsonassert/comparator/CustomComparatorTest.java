@@ -14,9 +14,13 @@
 
 package org.skyscreamer.jsonassert.comparator;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import junit.framework.Assert;
 import org.json.JSONArray;
 import org.junit.Test;
+import org.skyscreamer.jsonassert.Customization;
 import org.skyscreamer.jsonassert.JSONCompare;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.skyscreamer.jsonassert.JSONCompareResult;
@@ -49,4 +53,73 @@ public class CustomComparatorTest {
         String message = compareResult.getMessage().replaceAll("\n", "");
         Assert.assertTrue(message, message.matches(".*id=5.*Expected.*id=6.*Unexpected.*id=7.*Unexpected.*"));
     }
+
+    @Test
+    public void trieFindsTheSameCustomizationAsRegularExpressions() {
+        String[] expressions = {
+                "a.b", "a.*.c", "*.b", "**.id", "a.**.c", "**.**.c", "items[*].id", "**.items[id=*].name",
+                "a.*", "a.**", "*", "**", "a**b", "a.b*", "*.*", "[0].x", "a..b", "a[*]", "**.a[*]"
+        };
+        String[] paths = {
+                "", "a", "b", "id", "a.b", "a.", "a.x", "a.c", "a.b.c", "a.x.c", "a.x.y.c", "x.b", "x.y.b", "x.id",
+                "x.y.id", "items[0].id", "items[12].id", "items[].id", "z.items[id=3].name", "items[id=3].name",
+                "ab", "a.b.b", "axb", "axyb", "a.bc", "[0].x", "a..b", "..", "a[1]", "q.a[1]", "q.a[1].b"
+        };
+        List<Customization> customizations = new ArrayList<Customization>();
+        for (String expression : expressions) {
+            customizations.add(new Customization(expression, (o1, o2) -> true));
+        }
+        for (int skip = 0; skip < expressions.length; skip++) {
+            List<Customization> ordered = new ArrayList<Customization>(customizations.subList(skip, expressions.length));
+            ordered.addAll(customizations.subList(0, skip));
+            CustomizationTrie trie = new CustomizationTrie(ordered);
+            for (String path : paths) {
+                Customization expected = null;
+                for (Customization c : ordered) {
+                    if (c.appliesToPath(path)) {
+                        expected = c;
+                        break;
+                    }
+                }
+                Assert.assertSame("path '" + path + "'", expected, trie.find(path));
+            }
+        }
+    }
+
+    @Test
+    public void trieKeepsUpWithAPathAsItDescendsAndReturns() {
+        String[] expressions = {
+                "a.b", "a.*.c", "**.id", "a.**.c", "items[*].id", "**.items[id=*].name", "a.*", "a**b", "x.y"
+        };
+        List<Customization> customizations = new ArrayList<Customization>();
+        for (String expression : expressions) {
+            customizations.add(new Customization(expression, (o1, o2) -> true));
+        }
+        CustomizationTrie trie = new CustomizationTrie(customizations);
+        JSONComparePath path = new JSONComparePath();
+        String[][] walk = {
+                {"a"}, {"b"}, {}, {"x"}, {"c"}, {}, {}, {"items", "0"}, {"id"}, {}, {}, {"x.y"}, {}, {""}, {"b"}, {},
+                {}, {}, {"items", "id=3"}, {"name"}, {}, {}, {"z"}, {"items", "id=4"}, {"name"}, {}, {}, {"id"}
+        };
+        for (String[] step : walk) {
+            if (step.length == 0) {
+                path.pop();
+            } else if (step.length == 1) {
+                path.pushKey(step[0]);
+            } else if (step[1].startsWith("id=")) {
+                path.pushKey(step[0]).pushUniqueKey("id", step[1].substring(3));
+            } else {
+                path.pushKey(step[0]).pushIndex(Integer.parseInt(step[1]));
+            }
+            String string = path.toString();
+            Customization expected = null;
+            for (Customization c : customizations) {
+                if (c.appliesToPath(string)) {
+                    expected = c;
+                    break;
+                }
+            }
+            Assert.assertSame("path '" + string + "'", expected, trie.find(path));
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+public class JSONComparePathTest {
+
+    @Test
+    public void formatsLikeStringPrefixes() {
+        JSONComparePath path = new JSONComparePath();
+        assertEquals("store", path.pushKey("store").toString());
+        assertEquals("store.books", path.pushKey("books").toString());
+        assertEquals("store.books[2]", path.pushIndex(2).toString());
+        assertEquals("store.books[2].title", path.pushKey("title").toString());
+        assertEquals("store.books[2]", path.pop().toString());
+        assertEquals("store.books[2][id=7]", path.pushUniqueKey("id", 7).toString());
+        assertEquals(4, path.depth());
+        path.pop().pop().pop().pop();
+        assertEquals("", path.toString());
+        assertEquals(JSONCompareUtil.qualify("a.b", "c"), new JSONComparePath("a.b").pushKey("c").toString());
+        assertEquals(JSONCompareUtil.formatUniqueKey("a", "id", 1),
+                new JSONComparePath("a").pushUniqueKey("id", 1).toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotPopPastTheStart() {
+        new JSONComparePath("a").pop();
+    }
+
+    @Test
+    public void callsStringOverridesAtEveryLevel() {
+        final List<String> visited = new ArrayList<String>();
+        DefaultComparator comparator = new DefaultComparator(JSONCompareMode.STRICT) {
+            @Override
+            public void compareValues(String prefix, Object expectedValue, Object actualValue,
+                                      JSONCompareResult result) {
+                visited.add(prefix);
+                super.compareValues(prefix, expectedValue, actualValue, result);
+            }
+        };
+        JSONCompareResult result = JSONCompare.compareJSON("{a:{b:[1,{c:2}]}}", "{a:{b:[1,{c:3}]}}", comparator);
+        assertTrue(result.failed());
+        assertEquals("a.b[1].c", result.getFieldFailures().get(0).getField());
+        assertEquals(5, visited.size());
+        assertTrue(visited.contains("a.b[1].c"));
+    }
+
+    @Test
+    public void callsPathOverridesAtEveryLevel() {
+        final List<String> visited = new ArrayList<String>();
+        DefaultComparator comparator = new DefaultComparator(JSONCompareMode.STRICT) {
+            @Override
+            public void compareJSONArray(JSONComparePath path, JSONArray expected, JSONArray actual,
+                                         JSONCompareResult result) {
+                visited.add(path.toString());
+                super.compareJSONArray(path, expected, actual, result);
+            }
+        };
+        comparator.compareJSON(new JSONObject("{a:[[1],{b:[2]}]}"), new JSONObject("{a:[[1],{b:[2]}]}"));
+        assertEquals("[a, a[0], a[1].b]", visited.toString());
+    }
+}
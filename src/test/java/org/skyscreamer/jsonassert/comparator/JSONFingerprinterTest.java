@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
+import static org.skyscreamer.jsonassert.JSONCompareMode.NON_EXTENSIBLE;
+import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link JSONFingerprinter}.
+ */
+public class JSONFingerprinterTest {
+
+    @Test
+    public void ignoresKeyOrder() {
+        JSONFingerprinter fingerprinter = new JSONFingerprinter(STRICT);
+        assertEquals(fingerprinter.fingerprint(new JSONObject("{a:1, b:{c:[1, 2]}}")),
+                fingerprinter.fingerprint(new JSONObject("{b:{c:[1, 2]}, a:1}")));
+    }
+
+    @Test
+    public void ignoresElementOrderOnlyWithoutStrictOrdering() {
+        JSONArray array = new JSONArray("[1, {a:2}, null]");
+        JSONArray reordered = new JSONArray("[null, 1, {a:2}]");
+        assertEquals(new JSONFingerprinter(NON_EXTENSIBLE).fingerprint(array),
+                new JSONFingerprinter(NON_EXTENSIBLE).fingerprint(reordered));
+        assertNotEquals(new JSONFingerprinter(STRICT).fingerprint(array),
+                new JSONFingerprinter(STRICT).fingerprint(reordered));
+    }
+
+    @Test
+    public void hashesNumbersByValue() {
+        JSONFingerprinter fingerprinter = new JSONFingerprinter(STRICT);
+        assertEquals(fingerprinter.fingerprint(1), fingerprinter.fingerprint(1.0d));
+        assertEquals(fingerprinter.fingerprint(3L), fingerprinter.fingerprint(3));
+        assertEquals(fingerprinter.fingerprint(0.0d), fingerprinter.fingerprint(-0.0d));
+        assertNotEquals(fingerprinter.fingerprint(1), fingerprinter.fingerprint(2));
+    }
+
+    @Test
+    public void treatsJsonNullAsNull() {
+        JSONFingerprinter fingerprinter = new JSONFingerprinter(STRICT);
+        assertEquals(fingerprinter.fingerprint(null), fingerprinter.fingerprint(JSONObject.NULL));
+    }
+
+    @Test
+    public void distinguishesDifferentValues() {
+        JSONFingerprinter fingerprinter = new JSONFingerprinter(NON_EXTENSIBLE);
+        assertNotEquals(fingerprinter.fingerprint(new JSONObject("{a:1}")),
+                fingerprinter.fingerprint(new JSONObject("{a:1, b:2}")));
+        assertNotEquals(fingerprinter.fingerprint(new JSONArray("[1, 1, 2]")),
+                fingerprinter.fingerprint(new JSONArray("[1, 2, 2]")));
+    }
+
+    @Test
+    public void projectsExtendedValuesOntoExpectedShapeInExtensibleModes() {
+        JSONObject expected = new JSONObject("{a:1, b:{c:true}}");
+        JSONObject actual = new JSONObject("{a:1, b:{c:true, d:4}, e:5}");
+        JSONFingerprinter lenient = new JSONFingerprinter(LENIENT);
+        assertEquals(lenient.fingerprint(expected, expected), lenient.fingerprint(actual, expected));
+        assertNotEquals(lenient.fingerprint(expected, expected),
+                lenient.fingerprint(new JSONObject("{a:2, b:{c:true}}"), expected));
+
+        JSONFingerprinter nonExtensible = new JSONFingerprinter(NON_EXTENSIBLE);
+        assertNotEquals(nonExtensible.fingerprint(expected, expected), nonExtensible.fingerprint(actual, expected));
+    }
+
+    @Test
+    public void groupsValuesByShapeOnlyInExtensibleModes() {
+        JSONFingerprinter lenient = new JSONFingerprinter(LENIENT);
+        assertEquals(lenient.shape(new JSONObject("{a:1, b:[1]}")), lenient.shape(new JSONObject("{b:[2, 3], a:7}")));
+        assertNotEquals(lenient.shape(new JSONObject("{a:1}")), lenient.shape(new JSONObject("{b:1}")));
+
+        JSONFingerprinter strict = new JSONFingerprinter(STRICT);
+        assertEquals(strict.shape(new JSONObject("{a:1}")), strict.shape(new JSONObject("{b:1}")));
+    }
+}
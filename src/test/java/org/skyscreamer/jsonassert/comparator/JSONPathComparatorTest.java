@@ -264,6 +264,41 @@ public class JSONPathComparatorTest {
         assertEquals("array[2]", result.getFieldFailures().get(0).getField());
     }
 
+    @Test
+    public void appliesCustomizationsToSubtreesComparedOnOtherThreads() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Compares objects on another thread with a fork of the result, the way ParallelComparator does
+            JSONPathComparator comparator = new JSONPathComparator(JSONCompareMode.STRICT,
+                    JSONPathCustomization.ofIgnore("$.items[*].ts")) {
+                @Override
+                public void compareValues(JSONComparePath path, Object expectedValue, Object actualValue,
+                                          JSONCompareResult result) {
+                    if (!(expectedValue instanceof JSONObject) || !(actualValue instanceof JSONObject)) {
+                        super.compareValues(path, expectedValue, actualValue, result);
+                        return;
+                    }
+                    JSONCompareResult part = result.fork();
+                    String prefix = path.toString();
+                    CompletableFuture.runAsync(() -> super.compareValues(new JSONComparePath(prefix), expectedValue,
+                            actualValue, part), executor).join();
+                    result.absorb(part);
+                }
+            };
+            JSONObject expected = new JSONObject("{items:[{id:1,ts:5},{id:2,ts:6}]}");
+            JSONObject actual = new JSONObject("{items:[{id:1,ts:7},{id:2,ts:8}]}");
+            JSONCompareResult result = comparator.compareJSON(expected, actual);
+            assertTrue(result.getMessage(), result.passed());
+
+            actual = new JSONObject("{items:[{id:1,ts:7},{id:3,ts:8}]}");
+            result = comparator.compareJSON(expected, actual);
+            assertEquals(1, result.getFieldFailures().size());
+            assertEquals("items[1].id", result.getFieldFailures().get(0).getField());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void whenStrictAndFailureDueToInnerObjectMismatch() {
         JSONPathComparator comparator = new JSONPathComparator(
@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.skyscreamer.jsonassert.comparator.NumericComparison.AS_DOUBLES;
+import static org.skyscreamer.jsonassert.comparator.NumericComparison.EXACT;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+public class NumericComparisonTest {
+
+    @Test
+    public void exactComparesByValue() {
+        assertTrue(EXACT.equal(1, 1L));
+        assertTrue(EXACT.equal(1, 1.0d));
+        assertTrue(EXACT.equal(new BigDecimal("1.50"), new BigDecimal("1.5")));
+        assertTrue(EXACT.equal(0.1d, new BigDecimal("0.1")));
+        assertTrue(EXACT.equal(new BigInteger("12345678901234567890"), new BigDecimal("12345678901234567890")));
+        assertTrue(EXACT.equal(0.0d, -0.0d));
+        assertFalse(EXACT.equal(Double.NaN, Double.NaN));
+        assertFalse(EXACT.equal(9007199254740993L, 9007199254740992L));
+        assertFalse(EXACT.equal(9007199254740993L, 9007199254740992.0d));
+        assertFalse(EXACT.equal(new BigDecimal("0.10000000000000000001"), new BigDecimal("0.1")));
+        assertFalse(EXACT.equal(Double.POSITIVE_INFINITY, new BigDecimal("1E400")));
+    }
+
+    @Test
+    public void asDoublesLosesPrecision() {
+        assertTrue(AS_DOUBLES.equal(9007199254740993L, 9007199254740992L));
+        assertTrue(AS_DOUBLES.equal(new BigDecimal("0.10000000000000000001"), new BigDecimal("0.1")));
+        assertFalse(AS_DOUBLES.equal(1, 2));
+    }
+
+    @Test
+    public void toleratesSmallFloatingPointDifferences() {
+        NumericComparison tolerance = NumericComparison.withTolerance(0.01);
+        assertTrue(tolerance.equal(1.0d, 1.005d));
+        assertTrue(tolerance.equal(new BigDecimal("2.00"), 2.009d));
+        assertFalse(tolerance.equal(1.0d, 1.02d));
+        assertFalse(tolerance.equal(1, 2));
+        assertFalse(tolerance.equal(9007199254740993L, 9007199254740992L));
+        assertTrue(tolerance.isTolerant());
+        assertFalse(EXACT.isTolerant());
+
+        NumericComparison ulps = NumericComparison.withinUlps(2);
+        assertTrue(ulps.equal(1.0d, Math.nextUp(Math.nextUp(1.0d))));
+        assertFalse(ulps.equal(1.0d, Math.nextUp(Math.nextUp(Math.nextUp(1.0d)))));
+        assertTrue(ulps.equal(-Double.MIN_VALUE, Double.MIN_VALUE));
+        assertFalse(ulps.equal(-Double.MAX_VALUE, Double.MAX_VALUE));
+        assertFalse(ulps.equal(Double.NaN, Double.NaN));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeTolerance() {
+        NumericComparison.withTolerance(-1);
+    }
+
+    @Test
+    public void isUsedByComparators() {
+        JSONObject expected = new JSONObject("{id:9007199254740993, price:1.5, tags:[[0.333], [0.666]]}");
+        JSONObject actual = new JSONObject("{id:9007199254740992, price:1.50, tags:[[0.6661], [0.3331]]}");
+        assertTrue(JSONCompare.compareJSON(expected, actual,
+                new DefaultComparator(JSONCompareMode.STRICT, AS_DOUBLES)).failed());
+        assertTrue(JSONCompare.compareJSON(expected, actual,
+                new DefaultComparator(JSONCompareMode.NON_EXTENSIBLE, NumericComparison.withTolerance(0.001)))
+                .failed());
+        expected.put("id", 9007199254740992L);
+        assertTrue(JSONCompare.compareJSON(expected, actual,
+                new DefaultComparator(JSONCompareMode.NON_EXTENSIBLE, NumericComparison.withTolerance(0.001)))
+                .passed());
+        assertTrue(JSONCompare.compareJSON(expected, actual,
+                new DefaultComparator(JSONCompareMode.NON_EXTENSIBLE)).failed());
+    }
+}
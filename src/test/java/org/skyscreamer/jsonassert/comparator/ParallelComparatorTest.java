@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+public class ParallelComparatorTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutDownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void reportsTheSameFailuresAsTheDefaultComparator() {
+        JSONObject expected = document(false);
+        JSONObject actual = document(true);
+        for (JSONCompareMode mode : JSONCompareMode.values()) {
+            JSONCompareResult sequential = JSONCompare.compareJSON(expected, actual, new DefaultComparator(mode));
+            JSONCompareResult parallel = JSONCompare.compareJSON(expected, actual,
+                    new ParallelComparator(mode, POOL, 4));
+            assertTrue(mode.name(), sequential.failed());
+            assertEquals(mode.name(), sequential.getMessage(), parallel.getMessage());
+        }
+    }
+
+    @Test
+    public void passesEqualDocuments() {
+        JSONObject expected = document(false);
+        JSONObject actual = document(false);
+        for (JSONCompareMode mode : JSONCompareMode.values()) {
+            assertTrue(mode.name(), JSONCompare.compareJSON(expected, actual,
+                    new ParallelComparator(mode, POOL, 2)).passed());
+        }
+    }
+
+    @Test
+    public void keepsTheFailureCap() {
+        JSONObject expected = document(false);
+        JSONObject actual = document(true);
+        DefaultComparator sequential = new DefaultComparator(JSONCompareMode.STRICT);
+        ParallelComparator parallel = new ParallelComparator(JSONCompareMode.STRICT, POOL, 3);
+        for (int cap = 1; cap < 12; cap++) {
+            JSONCompareResult expectedResult = new JSONCompareResult(cap);
+            sequential.compareJSON("", expected, actual, expectedResult);
+            JSONCompareResult parallelResult = new JSONCompareResult(cap);
+            parallel.compareJSON("", expected, actual, parallelResult);
+            assertEquals(expectedResult.getMessage(), parallelResult.getMessage());
+            assertTrue(parallelResult.isTruncated());
+        }
+    }
+
+    @Test
+    public void failsFast() {
+        JSONCompareResult result = JSONCompareResult.failFast();
+        new ParallelComparator(JSONCompareMode.LENIENT, POOL, 2)
+                .compareJSON("", document(false), document(true), result);
+        assertTrue(result.failed());
+        assertEquals("", result.getMessage());
+    }
+
+    @Test
+    public void comparesSmallDocumentsOnTheCallingThread() {
+        ParallelComparator comparator = new ParallelComparator(JSONCompareMode.STRICT);
+        assertEquals(ParallelComparator.DEFAULT_THRESHOLD, comparator.getThreshold());
+        assertTrue(JSONCompare.compareJSON(new JSONObject("{a:[1,2,{b:3}]}"), new JSONObject("{a:[1,2,{b:3}]}"),
+                comparator).passed());
+        assertFalse(JSONCompare.compareJSON(new JSONObject("{a:[1,2,{b:3}]}"), new JSONObject("{a:[1,2,{b:4}]}"),
+                comparator).passed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAThresholdBelowOne() {
+        new ParallelComparator(JSONCompareMode.STRICT, POOL, 0);
+    }
+
+    /**
+     * A document with many keys, arrays compared in order or paired up by id, and nested objects.  The broken copy
+     * differs in a number of places spread over all of them.
+     */
+    private static JSONObject document(boolean broken) {
+        JSONObject document = new JSONObject();
+        for (int k = 0; k < 20; k++) {
+            JSONObject entry = new JSONObject();
+            entry.put("name", "entry-" + k);
+            JSONArray items = new JSONArray();
+            JSONArray values = new JSONArray();
+            for (int i = 0; i < 12; i++) {
+                JSONObject item = new JSONObject();
+                item.put("id", i);
+                item.put("score", broken && (k + i) % 7 == 0 ? i + 1 : i);
+                items.put(item);
+                values.put(new JSONArray().put(i).put("v" + i));
+            }
+            entry.put("items", items);
+            entry.put("values", values);
+            document.put("k" + k, entry);
+        }
+        if (broken) {
+            document.remove("k3");
+            document.put("extra", true);
+            document.getJSONObject("k5").getJSONArray("items").remove(4);
+            document.getJSONObject("k5").getJSONArray("items").put(new JSONObject().put("id", 99).put("score", 0));
+            document.getJSONObject("k8").getJSONArray("values").put(2, new JSONArray().put(2).put("w"));
+            document.getJSONObject("k11").put("name", "changed");
+        }
+        return document;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+public class SimpleValueCountsTest {
+
+    @Test
+    public void tellsValuesApartByEquals() {
+        SimpleValueCounts counts = new SimpleValueCounts(1);
+        counts.addExpected(1, 1);
+        counts.addExpected(1L, 1);
+        counts.addExpected(null, 2);
+        counts.addExpected("1", 1);
+        counts.addExpected(1, 1);
+        assertEquals(4, counts.size());
+        assertEquals(2, counts.expectedCount(0));
+        assertEquals(1L, counts.value(1));
+        assertNull(counts.value(2));
+        assertEquals(2, counts.expectedCount(2));
+    }
+
+    @Test
+    public void keepsTrackOfBalance() {
+        SimpleValueCounts counts = new SimpleValueCounts(2);
+        for (int i = 0; i < 1000; i++) {
+            counts.addExpected(i % 100, 1);
+        }
+        assertFalse(counts.balanced());
+        for (int i = 999; i >= 0; i--) {
+            counts.addActual(i % 100);
+        }
+        assertTrue(counts.balanced());
+        assertEquals(100, counts.size());
+        counts.addActual("extra");
+        assertFalse(counts.balanced());
+        assertEquals(0, counts.expectedCount(100));
+        assertEquals(1, counts.actualCount(100));
+    }
+
+    @Test
+    public void reportsInOrderOfFirstAppearance() {
+        JSONCompareResult result = JSONCompare.compareJSON("{a:[3, 1, 2, 2, null]}", "{a:[5, 2, null, 4, 1]}",
+                JSONCompareMode.LENIENT);
+        assertEquals("a[]", result.getFieldMissing().get(0).getField());
+        assertEquals(3, result.getFieldMissing().get(0).getExpected());
+        assertEquals(5, result.getFieldUnexpected().get(0).getActual());
+        assertEquals(4, result.getFieldUnexpected().get(1).getActual());
+        assertTrue(result.getMessage(), result.getMessage().contains("a[]: Expected 2 occurrence(s) of 2 but got 1"));
+    }
+}
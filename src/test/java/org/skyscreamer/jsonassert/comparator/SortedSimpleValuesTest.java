@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.skyscreamer.jsonassert.comparator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.json.JSONArray;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+public class SortedSimpleValuesTest {
+    private static final int N = SortedSimpleValues.THRESHOLD;
+
+    @Test
+    public void matchesShuffledValues() {
+        assertTrue(SortedSimpleValues.sameValues(ints(N, 0), reversed(ints(N, 0))));
+        assertTrue(SortedSimpleValues.sameValues(new JSONArray(strings(N)), reversed(new JSONArray(strings(N)))));
+        JSONArray decimals = new JSONArray(decimals(N));
+        assertTrue(SortedSimpleValues.sameValues(decimals, reversed(new JSONArray(decimals(N)))));
+    }
+
+    @Test
+    public void keepsEqualsSemantics() {
+        JSONArray integers = ints(N, 0);
+        JSONArray longs = new JSONArray();
+        for (int i = 0; i < N; i++) {
+            longs.put((long) i);
+        }
+        assertFalse(SortedSimpleValues.sameValues(integers, longs));
+        assertFalse(SortedSimpleValues.sameValues(longs, longs));
+
+        JSONArray scaled = new JSONArray(decimals(N));
+        scaled.put(0, new BigDecimal("0.50"));
+        JSONArray unscaled = new JSONArray(decimals(N));
+        unscaled.put(0, new BigDecimal("0.5"));
+        assertFalse(SortedSimpleValues.sameValues(scaled, unscaled));
+
+        JSONArray zeros = new JSONArray();
+        JSONArray negativeZeros = new JSONArray();
+        for (int i = 0; i < N; i++) {
+            zeros.put(0.0d);
+            negativeZeros.put(-0.0d);
+        }
+        assertFalse(SortedSimpleValues.sameValues(zeros, negativeZeros));
+        assertTrue(SortedSimpleValues.sameValues(zeros, zeros));
+    }
+
+    @Test
+    public void leavesSmallAndDifferentArraysToCounting() {
+        assertFalse(SortedSimpleValues.sameValues(ints(N - 1, 0), ints(N - 1, 0)));
+        assertFalse(SortedSimpleValues.sameValues(ints(N, 0), ints(N, 1)));
+    }
+
+    @Test
+    public void reportsDifferencesAsCounting() {
+        JSONArray expected = ints(N, 0);
+        JSONArray actual = reversed(ints(N, 0));
+        actual.put(7, N + 5);
+        JSONCompareResult result = JSONCompare.compareJSON(expected, actual, JSONCompareMode.LENIENT);
+        assertEquals(1, result.getFieldMissing().size());
+        assertEquals(N - 1 - 7, result.getFieldMissing().get(0).getExpected());
+        assertEquals(N + 5, result.getFieldUnexpected().get(0).getActual());
+    }
+
+    private static JSONArray ints(int n, int offset) {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < n; i++) {
+            array.put(i + offset);
+        }
+        return array;
+    }
+
+    private static String[] strings(int n) {
+        String[] strings = new String[n];
+        for (int i = 0; i < n; i++) {
+            strings[i] = "s" + (i % 10);
+        }
+        return strings;
+    }
+
+    private static BigDecimal[] decimals(int n) {
+        BigDecimal[] decimals = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            decimals[i] = new BigDecimal(i).movePointLeft(1);
+        }
+        return decimals;
+    }
+
+    private static JSONArray reversed(JSONArray array) {
+        JSONArray reversed = new JSONArray();
+        for (int i = array.length() - 1; i >= 0; i--) {
+            reversed.put(array.get(i));
+        }
+        return reversed;
+    }
+}